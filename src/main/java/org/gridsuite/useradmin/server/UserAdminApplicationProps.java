@@ -8,11 +8,14 @@ package org.gridsuite.useradmin.server;
 
 import jakarta.validation.constraints.AssertTrue;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import org.gridsuite.useradmin.server.controller.UserAdminController;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.scheduling.support.CronExpression;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+
 /**
  * @author Etienne Homer <etienne.homer at rte-france.com>
  */
@@ -46,6 +49,8 @@ public class UserAdminApplicationProps {
     public static class Cron {
         private String announcementCheck;
         private String announcementClean;
+        private String connectionStatsRollup;
+        private String userSearchIndexResync;
 
         @AssertTrue(message = "Invalide cron expression for \"announcementCheck\"")
         public boolean isValidAnnouncementCheck() {
@@ -56,7 +61,187 @@ public class UserAdminApplicationProps {
         public boolean isValidAnnouncementClean() {
             return this.announcementClean == null || CronExpression.isValidExpression(this.announcementClean);
         }
+
+        @AssertTrue(message = "Invalide cron expression for \"connectionStatsRollup\"")
+        public boolean isValidConnectionStatsRollup() {
+            return this.connectionStatsRollup == null || CronExpression.isValidExpression(this.connectionStatsRollup);
+        }
+
+        @AssertTrue(message = "Invalide cron expression for \"userSearchIndexResync\"")
+        public boolean isValidUserSearchIndexResync() {
+            return this.userSearchIndexResync == null || CronExpression.isValidExpression(this.userSearchIndexResync);
+        }
+    }
+
+    /**
+     * In-memory caches configuration.
+     */
+    private Caches cache = new Caches();
+
+    @Data
+    public static class Caches {
+        /**
+         * Effective profile of a user, keyed by sub.
+         */
+        private CacheSpec userProfile = new CacheSpec();
+        /**
+         * Identity of a user from the user identity server, keyed by sub.
+         */
+        private IdentityCacheSpec userIdentity = new IdentityCacheSpec();
+    }
+
+    @Data
+    public static class CacheSpec {
+        private boolean enabled = true;
+        private long maximumSize = 10_000L;
+        private Duration timeToLive = Duration.ofMinutes(5);
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    public static class IdentityCacheSpec extends CacheSpec {
+        /**
+         * How long an entry is still served once older than its time to live, while it is refreshed
+         * or if the server can't be reached.
+         */
+        private Duration maxStaleness = Duration.ofDays(1);
+        /**
+         * Time to live of the subs reported in error by the server.
+         */
+        private Duration negativeTimeToLive = Duration.ofMinutes(5);
+
+        public IdentityCacheSpec() {
+            setTimeToLive(Duration.ofHours(1));
+        }
+    }
+
+    /**
+     * Write-behind buffering of the connection attempts.
+     */
+    private ConnectionBuffer connectionBuffer = new ConnectionBuffer();
+
+    @Data
+    public static class ConnectionBuffer {
+        /**
+         * When disabled, each connection attempt is written by the request recording it.
+         */
+        private boolean enabled = false;
+        /**
+         * Maximum number of distinct subs buffered, beyond which the attempts are written synchronously.
+         */
+        private int capacity = 10_000;
+        /**
+         * Number of buffered subs triggering a flush, and size of the flushed batches.
+         */
+        private int flushSize = 500;
+        private Duration flushInterval = Duration.ofSeconds(1);
     }
 
+    /**
+     * Pooled HTTP client of the calls to the other servers.
+     */
+    private HttpClient httpClient = new HttpClient();
+
+    @Data
+    public static class HttpClient {
+        /**
+         * Maximum number of pooled connections to a server.
+         */
+        private int maxConnectionsPerRoute = 20;
+        /**
+         * Maximum number of pooled connections to all the servers.
+         */
+        private int maxConnectionsTotal = 50;
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        /**
+         * Maximum inactivity while waiting for the response.
+         */
+        private Duration readTimeout = Duration.ofSeconds(10);
+        /**
+         * Maximum wait for a connection of the pool when all are leased.
+         */
+        private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+        /**
+         * Pooled connections idle for longer are closed.
+         */
+        private Duration idleEviction = Duration.ofSeconds(30);
+    }
+
+    /**
+     * Circuit breaker and bulkhead of the calls to each of the other servers.
+     */
+    private Resilience resilience = new Resilience();
+
+    @Data
+    public static class Resilience {
+        private CircuitBreakerSpec identity = new CircuitBreakerSpec();
+        private CircuitBreakerSpec directory = new CircuitBreakerSpec();
+    }
+
+    @Data
+    public static class CircuitBreakerSpec {
+        /**
+         * Percentage of failed calls among the last ones opening the circuit.
+         */
+        private int failureRateThreshold = 50;
+        /**
+         * Number of last calls whose failure rate is computed.
+         */
+        private int slidingWindowSize = 20;
+        /**
+         * Number of calls before the failure rate is computed.
+         */
+        private int minimumCalls = 10;
+        /**
+         * How long the calls are rejected once the circuit is open, before a probe call.
+         */
+        private Duration openDuration = Duration.ofSeconds(30);
+        /**
+         * Maximum number of concurrent calls.
+         */
+        private int maxConcurrentCalls = 20;
+        /**
+         * Maximum wait for a call slot before rejecting the call.
+         */
+        private Duration maxWait = Duration.ofMillis(500);
+    }
+
+    /**
+     * Calls to the user identity server.
+     */
+    private Identity identity = new Identity();
+
+    @Data
+    public static class Identity {
+        /**
+         * Maximum number of subs per call.
+         */
+        private int chunkSize = 200;
+        /**
+         * Maximum number of batch calls running concurrently, for all the requests.
+         */
+        private int maxConcurrentCalls = 8;
+        /**
+         * Send the subs in the body of a POST, falling back to the query string of a GET if the server doesn't support it.
+         */
+        private boolean postBatch = true;
+    }
+
+    /**
+     * Window of the distinct subs with a connection attempt gauge, rounded to the minute.
+     */
+    private Duration distinctSubsWindow = Duration.ofMinutes(15);
+
+    /**
+     * How long the connection events are kept once rolled up in the daily connection statistics.
+     */
+    private Duration connectionEventsRetention = Duration.ofDays(31);
+
+    /**
+     * {@code max-age} of the {@code Cache-Control} header of the user profile and quotas responses.
+     * Default: {@code 0}, the clients and the gateway must revalidate their copy with its ETag.
+     */
+    private Duration profileResponseMaxAge = Duration.ZERO;
+
     private String adminRole = "ADMIN";
 }
@@ -0,0 +1,27 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.configuration;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class ExecutorConfig {
+    public static final String OUTBOUND_CALLS_EXECUTOR = "outboundCallsExecutor";
+
+    /**
+     * Executor of the calls to the other servers run concurrently with a request processing.
+     * Those calls are blocking I/O, hence one virtual thread per call.
+     */
+    @Bean(name = OUTBOUND_CALLS_EXECUTOR)
+    public ExecutorService outboundCallsExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
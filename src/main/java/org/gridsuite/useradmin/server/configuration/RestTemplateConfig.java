@@ -8,10 +8,22 @@ package org.gridsuite.useradmin.server.configuration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.gridsuite.useradmin.server.UserAdminApplicationProps;
 import org.springframework.boot.jackson.JsonComponentModule;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
@@ -23,9 +35,42 @@ import org.springframework.web.client.RestTemplate;
 @Configuration
 public class RestTemplateConfig {
 
+    public static final String OUTBOUND_HTTP_CLIENT_METRICS_NAME = "outbound";
+
+    /**
+     * Pooled client of the calls to the other servers, bounded by the connect, read and pool wait timeouts
+     * so that a slow server can't hold the request threads indefinitely.
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient outboundHttpClient(UserAdminApplicationProps applicationProps, MeterRegistry meterRegistry) {
+        UserAdminApplicationProps.HttpClient config = applicationProps.getHttpClient();
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnPerRoute(config.getMaxConnectionsPerRoute())
+            .setMaxConnTotal(config.getMaxConnectionsTotal())
+            .setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(config.getConnectTimeout()))
+                .setSocketTimeout(Timeout.of(config.getReadTimeout()))
+                .build())
+            .build();
+        // leased, pending and available connections
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, OUTBOUND_HTTP_CLIENT_METRICS_NAME).bindTo(meterRegistry);
+
+        return HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(config.getConnectionRequestTimeout()))
+                .setResponseTimeout(Timeout.of(config.getReadTimeout()))
+                .build())
+            .evictExpiredConnections()
+            .evictIdleConnections(TimeValue.of(config.getIdleEviction()))
+            .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
-        final RestTemplate restTemplate = builder.build();
+    public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient outboundHttpClient) {
+        final RestTemplate restTemplate = builder
+            .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(outboundHttpClient))
+            .build();
 
         //find and replace Jackson message converter with our own
         for (int i = 0; i < restTemplate.getMessageConverters().size(); i++) {
@@ -6,22 +6,53 @@
  */
 package org.gridsuite.useradmin.server.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import org.gridsuite.useradmin.server.UserAdminApi;
-import org.gridsuite.useradmin.server.dto.UserConnection;
+import org.gridsuite.useradmin.server.UserAdminApplicationProps;
+import org.gridsuite.useradmin.server.dto.ConnectionFilter;
+import org.gridsuite.useradmin.server.dto.ConnectionSort;
+import org.gridsuite.useradmin.server.dto.ConnectionsPage;
+import org.gridsuite.useradmin.server.dto.DailyConnectionStats;
+import org.gridsuite.useradmin.server.dto.UserFilter;
 import org.gridsuite.useradmin.server.dto.UserGroup;
+import org.gridsuite.useradmin.server.dto.UserIdentity;
+import org.gridsuite.useradmin.server.dto.UserImportMode;
+import org.gridsuite.useradmin.server.dto.UserImportReport;
 import org.gridsuite.useradmin.server.dto.UserInfos;
 import org.gridsuite.useradmin.server.dto.UserProfile;
+import org.gridsuite.useradmin.server.dto.UserQuota;
+import org.gridsuite.useradmin.server.dto.UserQuotaSnapshot;
+import org.gridsuite.useradmin.server.dto.UserSort;
+import org.gridsuite.useradmin.server.dto.UsersPage;
+import org.gridsuite.useradmin.server.dto.VersionedUserProfile;
 import org.gridsuite.useradmin.server.service.UserAdminService;
+import org.gridsuite.useradmin.server.service.UserImportService;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * @author Etienne Homer <etienne.homer at rte-france.com>
@@ -32,10 +63,49 @@ import java.util.List;
 @Tag(name = "UserAdminController", description = "User admin server")
 @ApiResponse(responseCode = "403", description = "The current user does not have right to ask these data")
 public class UserAdminController {
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
     private final UserAdminService service;
+    private final UserImportService userImportService;
+    private final ObjectMapper objectMapper;
+    private final CacheControl profileCacheControl;
 
-    public UserAdminController(UserAdminService userService) {
+    public UserAdminController(UserAdminService userService, UserImportService userImportService,
+                               UserAdminApplicationProps applicationProps, ObjectMapper objectMapper) {
         this.service = userService;
+        this.userImportService = userImportService;
+        this.objectMapper = objectMapper;
+        Duration maxAge = applicationProps.getProfileResponseMaxAge();
+        this.profileCacheControl = maxAge.isZero() ? CacheControl.noCache() : CacheControl.maxAge(maxAge).mustRevalidate();
+    }
+
+    /**
+     * Writes the elements passed by the producer to the consumer it is given as soon as they come,
+     * without buffering the whole array.
+     */
+    private <T> void writeJsonArray(OutputStream outputStream, Consumer<Consumer<T>> producer) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.writeStartArray();
+            try {
+                producer.accept(element -> {
+                    try {
+                        generator.writeObject(element);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * A matching {@code If-None-Match} request header turns the response into a 304 without writing the body.
+     */
+    private <T> ResponseEntity<T> conditionalResponse(String eTag, T body) {
+        return ResponseEntity.ok().eTag(eTag).cacheControl(profileCacheControl).body(body);
     }
 
     @GetMapping(value = "/users", produces = {MediaType.APPLICATION_JSON_VALUE})
@@ -45,6 +115,60 @@ public class UserAdminController {
         return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(service.getUsers());
     }
 
+    @GetMapping(value = "/users/stream", produces = {MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "get the users, written as they are read", description = "Access restricted to users of type: `admin`")
+    @ApiResponse(responseCode = "200", description = "The users list")
+    public ResponseEntity<StreamingResponseBody> streamUsers() {
+        service.assertIsAdmin();
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+            .body(outputStream -> writeJsonArray(outputStream, service::streamUsers));
+    }
+
+    @GetMapping(value = "/users/page", produces = {MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "get a page of the users, filtered and sorted", description = "Access restricted to users of type: `admin`")
+    @ApiResponse(responseCode = "200", description = "The users page, with the cursor of the next page if any")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
+    public ResponseEntity<UsersPage> getUsersPage(
+            @RequestParam(value = "profileName", required = false) String profileName,
+            @RequestParam(value = "groupName", required = false) String groupName,
+            @Parameter(description = "Case-insensitive substring of the sub") @RequestParam(value = "subContains", required = false) String subContains,
+            @RequestParam(value = "sortBy", defaultValue = "SUB") UserSort sortBy,
+            @RequestParam(value = "direction", defaultValue = "ASC") Sort.Direction direction,
+            @Parameter(description = "Cursor returned with the previous page") @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "50") @Min(1) @Max(1000) int size) {
+        return ResponseEntity.ok().body(service.getUsersPage(new UserFilter(profileName, groupName, subContains), sortBy, direction, cursor, size));
+    }
+
+    @GetMapping(value = "/users/search", produces = {MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "search the users by part of their sub, first name or last name", description = "Access restricted to users of type: `admin`")
+    @ApiResponse(responseCode = "200", description = "The matching users, the best matches first")
+    public ResponseEntity<List<UserIdentity>> searchUsers(
+            @Parameter(description = "Case and accent insensitive, matching only the beginning of the fields if shorter than 3 characters") @RequestParam("q") String query,
+            @RequestParam(value = "limit", defaultValue = "20") @Min(1) @Max(1000) int limit) {
+        return ResponseEntity.ok().body(service.searchUsers(query, limit));
+    }
+
+    @PostMapping(value = "/users/import", consumes = {MediaType.APPLICATION_JSON_VALUE}, produces = {MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "create users in bulk from a JSON array", description = "Access restricted to users of type: `admin`")
+    @ApiResponse(responseCode = "200", description = "The import report, with the skipped and failed rows")
+    @ApiResponse(responseCode = "400", description = "The body isn't a JSON array of users")
+    public ResponseEntity<UserImportReport> importUsersJson(
+            @RequestParam(value = "mode", defaultValue = "SKIP") UserImportMode mode,
+            InputStream body) {
+        return ResponseEntity.ok().body(userImportService.importJson(body, mode));
+    }
+
+    @PostMapping(value = "/users/import", consumes = {TEXT_CSV_VALUE}, produces = {MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "create users in bulk from a CSV with a header line",
+        description = "Columns `sub`, `profileName` and `groups`, separated by `|`. Access restricted to users of type: `admin`")
+    @ApiResponse(responseCode = "200", description = "The import report, with the skipped and failed rows")
+    @ApiResponse(responseCode = "400", description = "The CSV has no header line or no sub column")
+    public ResponseEntity<UserImportReport> importUsersCsv(
+            @RequestParam(value = "mode", defaultValue = "SKIP") UserImportMode mode,
+            InputStream body) {
+        return ResponseEntity.ok().body(userImportService.importCsv(body, mode));
+    }
+
     @DeleteMapping(value = "/users", consumes = {MediaType.APPLICATION_JSON_VALUE})
     @Operation(summary = "delete the users", description = "Access restricted to users of type: `admin`")
     @ApiResponse(responseCode = "204", description = "Users deleted")
@@ -107,8 +231,10 @@ public class UserAdminController {
     @GetMapping(value = "/users/{sub}/profile")
     @Operation(summary = "Get the user's profile")
     @ApiResponse(responseCode = "200", description = "The user profile")
+    @ApiResponse(responseCode = "304", description = "The user profile matches the If-None-Match ETag")
     public ResponseEntity<UserProfile> getUserProfile(@PathVariable("sub") String sub) {
-        return ResponseEntity.ok(service.getUserProfile(sub));
+        VersionedUserProfile versionedProfile = service.getVersionedUserProfile(sub);
+        return conditionalResponse(versionedProfile.eTag(), versionedProfile.profile());
     }
 
     @GetMapping(value = "/users/{sub}/groups")
@@ -121,9 +247,26 @@ public class UserAdminController {
     @GetMapping(value = "/users/{sub}/profile/max-cases")
     @Operation(summary = "Get the user's max allowed cases")
     @ApiResponse(responseCode = "200", description = "The user max allowed cases created")
+    @ApiResponse(responseCode = "304", description = "The value matches the If-None-Match ETag")
     @ApiResponse(responseCode = "404", description = "The user doesn't exist")
     public ResponseEntity<Integer> getUserProfileMaxStudies(@PathVariable("sub") String sub) {
-        return ResponseEntity.ok().body(service.getUserProfileMaxAllowedCases(sub));
+        Integer maxAllowedCases = service.getUserProfileMaxAllowedCases(sub);
+        // the value is its own strong validator
+        return conditionalResponse(String.valueOf(maxAllowedCases), maxAllowedCases);
+    }
+
+    @GetMapping(value = "/users/{sub}/quotas", produces = {MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Get the user's quotas, its cases usage and whether the cases alert threshold is reached")
+    @ApiResponse(responseCode = "200", description = "The user quotas snapshot")
+    public ResponseEntity<UserQuotaSnapshot> getUserQuotaSnapshot(@PathVariable("sub") String sub) {
+        return ResponseEntity.ok().body(service.getUserQuotaSnapshot(sub));
+    }
+
+    @PostMapping(value = "/quotas", consumes = {MediaType.APPLICATION_JSON_VALUE}, produces = {MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Get the max allowed cases and builds of several users at once")
+    @ApiResponse(responseCode = "200", description = "The users quotas, in the order of the given subs")
+    public ResponseEntity<List<UserQuota>> getUsersQuotas(@RequestBody @NotEmpty List<String> subs) {
+        return ResponseEntity.ok().body(service.getUsersQuotas(subs));
     }
 
     @GetMapping(value = "/cases-alert-threshold")
@@ -136,15 +279,52 @@ public class UserAdminController {
     @GetMapping(value = "/users/{sub}/profile/max-builds")
     @Operation(summary = "Get the user's max allowed builds")
     @ApiResponse(responseCode = "200", description = "The user max allowed builds")
+    @ApiResponse(responseCode = "304", description = "The value matches the If-None-Match ETag")
     @ApiResponse(responseCode = "404", description = "The user doesn't exist")
     public ResponseEntity<Integer> getUserProfileMaxAllowedBuilds(@PathVariable("sub") String sub) {
-        return ResponseEntity.ok().body(service.getUserProfileMaxAllowedBuilds(sub));
+        Integer maxAllowedBuilds = service.getUserProfileMaxAllowedBuilds(sub);
+        return conditionalResponse(String.valueOf(maxAllowedBuilds), maxAllowedBuilds);
     }
 
     @GetMapping(value = "/connections", produces = {MediaType.APPLICATION_JSON_VALUE})
     @Operation(summary = "get the connections", description = "Access restricted to users of type: `admin`")
     @ApiResponse(responseCode = "200", description = "The connections list")
-    public ResponseEntity<List<UserConnection>> getConnections() {
-        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(service.getConnections());
+    public ResponseEntity<StreamingResponseBody> getConnections() {
+        // same body as /connections/stream, written as the connections are read
+        return streamConnections();
+    }
+
+    @GetMapping(value = "/connections/stream", produces = {MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "get the connections, written as they are read", description = "Access restricted to users of type: `admin`")
+    @ApiResponse(responseCode = "200", description = "The connections list")
+    public ResponseEntity<StreamingResponseBody> streamConnections() {
+        service.assertIsAdmin();
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+            .body(outputStream -> writeJsonArray(outputStream, service::streamConnections));
+    }
+
+    @GetMapping(value = "/connections/page", produces = {MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "get a page of the connections, filtered and sorted", description = "Access restricted to users of type: `admin`")
+    @ApiResponse(responseCode = "200", description = "The connections page, with the cursor of the next page if any")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
+    public ResponseEntity<ConnectionsPage> getConnectionsPage(
+            @Parameter(description = "Inclusive lower bound of the last connection date") @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @Parameter(description = "Exclusive upper bound of the last connection date") @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(value = "accepted", required = false) Boolean accepted,
+            @RequestParam(value = "subPrefix", required = false) String subPrefix,
+            @RequestParam(value = "sortBy", defaultValue = "LAST_CONNECTION") ConnectionSort sortBy,
+            @RequestParam(value = "direction", defaultValue = "DESC") Sort.Direction direction,
+            @Parameter(description = "Cursor returned with the previous page") @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "50") @Min(1) @Max(1000) int size) {
+        return ResponseEntity.ok().body(service.getConnectionsPage(new ConnectionFilter(from, to, accepted, subPrefix), sortBy, direction, cursor, size));
+    }
+
+    @GetMapping(value = "/connections/daily-stats", produces = {MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "get the daily connection statistics, rolled up periodically", description = "Access restricted to users of type: `admin`")
+    @ApiResponse(responseCode = "200", description = "The statistics of the days with at least one connection attempt, by ascending day")
+    public ResponseEntity<List<DailyConnectionStats>> getDailyConnectionStats(
+            @Parameter(description = "First UTC day, inclusive") @RequestParam(value = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last UTC day, inclusive") @RequestParam(value = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok().body(service.getDailyConnectionStats(from, to));
     }
 }
@@ -69,6 +69,24 @@ public class UserGroupController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping(value = "/{groupUuid}/users", consumes = {MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "add users to a group", description = "Access restricted to users of type: `admin`")
+    @ApiResponse(responseCode = "200", description = "The number of users added, the current members are ignored")
+    @ApiResponse(responseCode = "404", description = "The group or one or more user(s) do not exist")
+    public ResponseEntity<Integer> addMembers(@PathVariable("groupUuid") UUID groupUuid,
+                                              @RequestBody @NotEmpty List<String> subs) {
+        return ResponseEntity.ok().body(service.addMembers(groupUuid, subs));
+    }
+
+    @DeleteMapping(value = "/{groupUuid}/users", consumes = {MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "remove users from a group", description = "Access restricted to users of type: `admin`")
+    @ApiResponse(responseCode = "200", description = "The number of users removed, the non members are ignored")
+    @ApiResponse(responseCode = "404", description = "The group does not exist")
+    public ResponseEntity<Integer> removeMembers(@PathVariable("groupUuid") UUID groupUuid,
+                                                 @RequestBody @NotEmpty List<String> subs) {
+        return ResponseEntity.ok().body(service.removeMembers(groupUuid, subs));
+    }
+
     @PostMapping(value = "/{group}")
     @Operation(summary = "Create the group", description = "Access restricted to users of type: `admin`")
     @ApiResponse(responseCode = "201", description = "The group has been created")
@@ -12,6 +12,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.constraints.NotEmpty;
 import org.gridsuite.useradmin.server.UserAdminApi;
+import org.gridsuite.useradmin.server.dto.ProfileReassignment;
 import org.gridsuite.useradmin.server.dto.UserProfile;
 import org.gridsuite.useradmin.server.service.UserProfileService;
 import org.springframework.http.HttpStatus;
@@ -63,6 +64,16 @@ public class UserProfileController {
         return ResponseEntity.ok().build();
     }
 
+    @PutMapping(value = "/{profileUuid}/users", consumes = {MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "move users to the profile, given by sub or by their current profile", description = "Access restricted to users of type: `admin`")
+    @ApiResponse(responseCode = "200", description = "The number of users whose profile changed")
+    @ApiResponse(responseCode = "400", description = "Neither or both the subs and the current profile are given")
+    @ApiResponse(responseCode = "404", description = "The profile does not exist")
+    public ResponseEntity<Integer> reassignUsers(@PathVariable("profileUuid") UUID profileUuid,
+                                                 @RequestBody ProfileReassignment reassignment) {
+        return ResponseEntity.ok().body(service.reassignUsers(profileUuid, reassignment));
+    }
+
     @PostMapping(value = "")
     @Operation(summary = "Create the profile", description = "Access restricted to users of type: `admin`")
     @ApiResponse(responseCode = "201", description = "The profile has been created")
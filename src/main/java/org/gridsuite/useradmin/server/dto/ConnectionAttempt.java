@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One or several coalesced connection attempts of a user.
+ *
+ * @param accepted flag of the latest attempt
+ * @param acceptedAttempts number of accepted attempts, the latest one at {@code lastAcceptedDate}
+ * @param lastAcceptedDate {@code null} without any accepted attempt
+ * @param refusedAttempts number of refused attempts, the latest one at {@code lastRefusedDate}
+ * @param lastRefusedDate {@code null} without any refused attempt
+ */
+public record ConnectionAttempt(
+    String sub,
+    LocalDateTime firstDate,
+    LocalDateTime lastDate,
+    boolean accepted,
+    long acceptedAttempts,
+    LocalDateTime lastAcceptedDate,
+    long refusedAttempts,
+    LocalDateTime lastRefusedDate
+) {
+    public static ConnectionAttempt of(String sub, LocalDateTime date, boolean accepted) {
+        return accepted
+            ? new ConnectionAttempt(sub, date, date, true, 1, date, 0, null)
+            : new ConnectionAttempt(sub, date, date, false, 0, null, 1, date);
+    }
+
+    /**
+     * @return the attempts of both, keeping the earliest first date, the flag of the latest attempt and
+     * the number of attempts of each outcome
+     */
+    public ConnectionAttempt merge(ConnectionAttempt other) {
+        ConnectionAttempt latest = other.lastDate().isBefore(lastDate) ? this : other;
+        LocalDateTime earliest = other.firstDate().isBefore(firstDate) ? other.firstDate() : firstDate;
+        return new ConnectionAttempt(sub, earliest, latest.lastDate(), latest.accepted(),
+            acceptedAttempts + other.acceptedAttempts(), latestOf(lastAcceptedDate, other.lastAcceptedDate()),
+            refusedAttempts + other.refusedAttempts(), latestOf(lastRefusedDate, other.lastRefusedDate()));
+    }
+
+    private static LocalDateTime latestOf(LocalDateTime date, LocalDateTime otherDate) {
+        if (date == null) {
+            return otherDate;
+        }
+        return otherDate == null || otherDate.isBefore(date) ? date : otherDate;
+    }
+}
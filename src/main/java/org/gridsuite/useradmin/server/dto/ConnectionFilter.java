@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.dto;
+
+import java.time.Instant;
+
+/**
+ * Criteria of the connections to return, all optional.
+ *
+ * @param from inclusive lower bound of the last connection date
+ * @param to exclusive upper bound of the last connection date
+ */
+public record ConnectionFilter(
+    Instant from,
+    Instant to,
+    Boolean accepted,
+    String subPrefix
+) { }
@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.dto;
+
+/**
+ * Sort key of the connections, the sub being always used as tie-breaker.
+ */
+public enum ConnectionSort {
+    LAST_CONNECTION("lastConnexionDate"),
+    FIRST_CONNECTION("firstConnexionDate"),
+    SUB("sub");
+
+    private final String property;
+
+    ConnectionSort(String property) {
+        this.property = property;
+    }
+
+    /**
+     * @return the sorted property of {@code ConnectionEntity}
+     */
+    public String property() {
+        return property;
+    }
+}
@@ -0,0 +1,17 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.dto;
+
+import java.util.List;
+
+/**
+ * @param nextCursor position after the last connection of the page, {@code null} on the last page
+ */
+public record ConnectionsPage(
+    List<UserConnection> connections,
+    String nextCursor
+) { }
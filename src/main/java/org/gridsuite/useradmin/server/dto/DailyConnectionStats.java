@@ -0,0 +1,24 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.dto;
+
+import java.time.LocalDate;
+
+/**
+ * @param day UTC day of the connection attempts
+ * @param distinctUsers users with at least one attempt this day
+ * @param acceptedUsers users with at least one accepted attempt this day
+ * @param refusedUsers users with at least one refused attempt this day
+ */
+public record DailyConnectionStats(
+    LocalDate day,
+    long distinctUsers,
+    long acceptedUsers,
+    long refusedUsers,
+    long acceptedAttempts,
+    long refusedAttempts
+) { }
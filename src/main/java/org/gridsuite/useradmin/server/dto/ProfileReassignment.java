@@ -0,0 +1,18 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The users to move to another profile: either the given subs or all the users of a profile.
+ */
+public record ProfileReassignment(
+    List<String> subs,
+    UUID fromProfileId
+) { }
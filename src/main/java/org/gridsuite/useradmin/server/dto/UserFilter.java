@@ -0,0 +1,20 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.dto;
+
+/**
+ * Criteria of the users to return, all optional.
+ *
+ * @param profileName exact name of the profile of the users
+ * @param groupName exact name of a group of the users
+ * @param subContains case-insensitive substring of the sub
+ */
+public record UserFilter(
+    String profileName,
+    String groupName,
+    String subContains
+) { }
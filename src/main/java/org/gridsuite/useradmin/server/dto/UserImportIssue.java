@@ -0,0 +1,22 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.dto;
+
+/**
+ * @param row number of the row in the import, from 1, without the CSV header
+ */
+public record UserImportIssue(
+    long row,
+    String sub,
+    Status status,
+    String message
+) {
+    public enum Status {
+        DUPLICATE,
+        FAILED
+    }
+}
@@ -0,0 +1,21 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.dto;
+
+/**
+ * Handling of the imported users already existing, or repeated in the import.
+ */
+public enum UserImportMode {
+    /**
+     * Only counted.
+     */
+    SKIP,
+    /**
+     * Counted and listed in the issues of the report.
+     */
+    REPORT
+}
@@ -0,0 +1,21 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.dto;
+
+import java.util.List;
+
+/**
+ * @param issues the skipped and failed rows, in the order of the import, up to a maximum
+ * @param issuesTruncated whether some issues aren't listed, the counts being complete
+ */
+public record UserImportReport(
+    long created,
+    long skipped,
+    long failed,
+    List<UserImportIssue> issues,
+    boolean issuesTruncated
+) { }
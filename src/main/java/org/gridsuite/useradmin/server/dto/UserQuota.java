@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.dto;
+
+import java.util.Objects;
+
+/**
+ * Quotas of a user, as resolved from its profile.
+ * A {@code null} profile name or limit means the user (or its profile) doesn't define it.
+ */
+public record UserQuota(
+    String sub,
+    String profileName,
+    Integer maxAllowedCases,
+    Integer maxAllowedBuilds
+) {
+    /**
+     * @return the effective quotas, falling back to the default profile for the undefined values
+     */
+    public UserQuota withDefaults(Integer defaultMaxAllowedCases, Integer defaultMaxAllowedBuilds) {
+        return new UserQuota(
+                sub,
+                Objects.requireNonNullElse(profileName, UserProfile.DEFAULT_PROFILE_NAME),
+                maxAllowedCases != null ? maxAllowedCases : defaultMaxAllowedCases,
+                maxAllowedBuilds != null ? maxAllowedBuilds : defaultMaxAllowedBuilds
+        );
+    }
+}
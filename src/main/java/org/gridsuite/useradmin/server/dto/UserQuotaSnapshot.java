@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.dto;
+
+/**
+ * Quotas of a user with its current usage, to decide whether the "quota almost reached" warning must be shown.
+ */
+public record UserQuotaSnapshot(
+    String sub,
+    Integer maxAllowedCases,
+    Integer numberCasesUsed,
+    Integer maxAllowedBuilds,
+    Integer casesAlertThreshold,
+    boolean casesAlertReached
+) {
+    /**
+     * @param quota effective quotas of the user
+     * @param numberCasesUsed number of cases of the user, {@code null} if unknown
+     * @param casesAlertThreshold usage percentage from which the user gets a warning
+     */
+    public static UserQuotaSnapshot of(UserQuota quota, Integer numberCasesUsed, Integer casesAlertThreshold) {
+        Integer maxAllowedCases = quota.maxAllowedCases();
+        boolean casesAlertReached = maxAllowedCases != null && numberCasesUsed != null && casesAlertThreshold != null
+                && numberCasesUsed * 100L >= (long) casesAlertThreshold * maxAllowedCases;
+        return new UserQuotaSnapshot(quota.sub(), maxAllowedCases, numberCasesUsed, quota.maxAllowedBuilds(),
+                casesAlertThreshold, casesAlertReached);
+    }
+}
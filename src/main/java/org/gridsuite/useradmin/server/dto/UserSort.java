@@ -0,0 +1,18 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.dto;
+
+/**
+ * Sort key of the users, the sub being always used as tie-breaker.
+ */
+public enum UserSort {
+    SUB,
+    /**
+     * Users without profile first in ascending order.
+     */
+    PROFILE
+}
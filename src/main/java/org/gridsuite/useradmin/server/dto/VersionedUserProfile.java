@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.dto;
+
+import java.util.UUID;
+
+/**
+ * Effective profile of a user with the strong entity tag of its representation.
+ */
+public record VersionedUserProfile(
+    UserProfile profile,
+    String eTag
+) {
+    /**
+     * @param profileVersion version of the profile entity the profile has been read from
+     */
+    public static VersionedUserProfile of(UserProfile profile, UUID profileId, Long profileVersion) {
+        return new VersionedUserProfile(profile, profileId + "-" + profileVersion);
+    }
+
+    /**
+     * The default profile only depends on the configured limits.
+     */
+    public static VersionedUserProfile ofDefault(UserProfile defaultProfile) {
+        return new VersionedUserProfile(defaultProfile, "default-" + defaultProfile.maxAllowedCases() + "-" + defaultProfile.maxAllowedBuilds());
+    }
+}
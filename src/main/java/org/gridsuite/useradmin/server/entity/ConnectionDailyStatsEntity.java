@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.gridsuite.useradmin.server.dto.DailyConnectionStats;
+
+import java.time.LocalDate;
+
+/**
+ * Connection attempts of a day, aggregated from the {@link ConnectionEventEntity events}.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Entity
+@Table(name = "connection_daily_stats")
+public class ConnectionDailyStatsEntity {
+
+    @Id
+    @Column(name = "stats_day")
+    private LocalDate day;
+
+    @Column(name = "distinct_users", nullable = false)
+    private long distinctUsers;
+
+    @Column(name = "accepted_users", nullable = false)
+    private long acceptedUsers;
+
+    @Column(name = "refused_users", nullable = false)
+    private long refusedUsers;
+
+    @Column(name = "accepted_attempts", nullable = false)
+    private long acceptedAttempts;
+
+    @Column(name = "refused_attempts", nullable = false)
+    private long refusedAttempts;
+
+    public static ConnectionDailyStatsEntity fromDto(DailyConnectionStats stats) {
+        return new ConnectionDailyStatsEntity(stats.day(), stats.distinctUsers(), stats.acceptedUsers(), stats.refusedUsers(),
+            stats.acceptedAttempts(), stats.refusedAttempts());
+    }
+
+    public DailyConnectionStats toDto() {
+        return new DailyConnectionStats(day, distinctUsers, acceptedUsers, refusedUsers, acceptedAttempts, refusedAttempts);
+    }
+}
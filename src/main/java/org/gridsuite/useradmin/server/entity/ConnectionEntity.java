@@ -27,7 +27,12 @@ import java.util.UUID;
 @Getter
 @Setter
 @Entity
-@Table(name = "connection", indexes = {@Index(name = "connection_sub_index", columnList = "sub")})
+@Table(name = "connection",
+    uniqueConstraints = {@UniqueConstraint(name = "connection_sub_uc", columnNames = "sub")},
+    indexes = {
+        @Index(name = "connection_last_date_sub_index", columnList = "lastConnexionDate, sub"),
+        @Index(name = "connection_first_date_sub_index", columnList = "firstConnexionDate, sub")
+    })
 public class ConnectionEntity {
 
     @Id
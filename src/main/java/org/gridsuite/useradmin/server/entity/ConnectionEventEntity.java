@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Connection attempts of a user with the same outcome, never updated: the source of the
+ * {@link ConnectionDailyStatsEntity daily statistics}. The attempts coalesced by the connection buffer
+ * are counted on the date of the latest one.
+ * Written in JDBC batches by {@link org.gridsuite.useradmin.server.repository.ConnectionEventRepositoryCustom}.
+ */
+@NoArgsConstructor
+@Getter
+@Entity
+@Table(name = "connection_event", indexes = @Index(name = "connection_event_date_index", columnList = "attempt_date"))
+public class ConnectionEventEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "sub", nullable = false)
+    private String sub;
+
+    @Column(name = "attempt_date", nullable = false)
+    private LocalDateTime attemptDate;
+
+    @Column(name = "accepted", nullable = false)
+    private boolean accepted;
+
+    @Column(name = "attempts", nullable = false)
+    private long attempts;
+
+    public ConnectionEventEntity(String sub, LocalDateTime attemptDate, boolean accepted) {
+        this(sub, attemptDate, accepted, 1);
+    }
+
+    public ConnectionEventEntity(String sub, LocalDateTime attemptDate, boolean accepted, long attempts) {
+        this.sub = sub;
+        this.attemptDate = attemptDate;
+        this.accepted = accepted;
+        this.attempts = attempts;
+    }
+}
@@ -33,6 +33,10 @@ public class UserInfosEntity {
         this(UUID.randomUUID(), sub, null, null);
     }
 
+    public UserInfosEntity(UUID id, String sub, UserProfileEntity profile, Set<GroupInfosEntity> groups) {
+        this(id, sub, profile, groups, null);
+    }
+
     @Id
     @Column(name = "id")
     private UUID id;
@@ -48,6 +52,10 @@ public class UserInfosEntity {
     @ManyToMany(mappedBy = "users")
     private Set<GroupInfosEntity> groups;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     private UserInfos toUserInfos(Integer maxAllowedCases,
                                   Integer numberCasesUsed,
                                   Integer maxAllowedBuilds) {
@@ -25,6 +25,16 @@ import java.util.UUID;
 @Table(name = "user_profile")
 public class UserProfileEntity {
 
+    @SuppressWarnings("java:S107")
+    public UserProfileEntity(UUID id, String name, UUID loadFlowParameterId, UUID securityAnalysisParameterId,
+                             UUID sensitivityAnalysisParameterId, UUID shortcircuitParameterId, UUID pccminParameterId,
+                             UUID voltageInitParameterId, Integer maxAllowedCases, Integer maxAllowedBuilds,
+                             UUID spreadsheetConfigCollectionId, UUID networkVisualizationParameterId, UUID workspaceId) {
+        this(id, name, loadFlowParameterId, securityAnalysisParameterId, sensitivityAnalysisParameterId, shortcircuitParameterId,
+            pccminParameterId, voltageInitParameterId, maxAllowedCases, maxAllowedBuilds, spreadsheetConfigCollectionId,
+            networkVisualizationParameterId, workspaceId, null);
+    }
+
     @Id
     @Column(name = "id")
     private UUID id;
@@ -64,5 +74,12 @@ public class UserProfileEntity {
 
     @Column(name = "workspaceId")
     private UUID workspaceId;
+
+    /**
+     * Incremented on each update, used to validate the cached representations of the profile.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
 
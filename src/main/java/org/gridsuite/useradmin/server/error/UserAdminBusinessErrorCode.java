@@ -16,6 +16,7 @@ import com.powsybl.ws.commons.error.BusinessErrorCode;
 public enum UserAdminBusinessErrorCode implements BusinessErrorCode {
     USER_ADMIN_PERMISSION_DENIED("useradmin.permissionDenied"),
     USER_ADMIN_USER_NOT_FOUND("useradmin.userNotFound"),
+    USER_ADMIN_USERS_NOT_FOUND("useradmin.usersNotFound"),
     USER_ADMIN_USER_ALREADY_EXISTS("useradmin.userAlreadyExists"),
     USER_ADMIN_PROFILE_NOT_FOUND("useradmin.profileNotFound"),
     USER_ADMIN_PROFILE_ALREADY_EXISTS("useradmin.profileAlreadyExists"),
@@ -23,7 +24,10 @@ public enum UserAdminBusinessErrorCode implements BusinessErrorCode {
     USER_ADMIN_GROUP_ALREADY_EXISTS("useradmin.groupAlreadyExists"),
     USER_ADMIN_GROUP_STILL_REFERENCED("useradmin.groupStillReferenced"),
     USER_ADMIN_ANNOUNCEMENT_INVALID_PERIOD("useradmin.announcementInvalidPeriod"),
-    USER_ADMIN_ANNOUNCEMENT_OVERLAP("useradmin.announcementOverlap");
+    USER_ADMIN_ANNOUNCEMENT_OVERLAP("useradmin.announcementOverlap"),
+    USER_ADMIN_INVALID_CURSOR("useradmin.invalidCursor"),
+    USER_ADMIN_INVALID_IMPORT("useradmin.invalidImport"),
+    USER_ADMIN_INVALID_PROFILE_REASSIGNMENT("useradmin.invalidProfileReassignment");
 
     private final String value;
 
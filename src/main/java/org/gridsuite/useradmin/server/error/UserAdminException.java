@@ -10,8 +10,10 @@ import com.powsybl.ws.commons.error.AbstractBusinessException;
 import jakarta.validation.constraints.NotNull;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static org.gridsuite.useradmin.server.error.UserAdminBusinessErrorCode.*;
 
@@ -41,6 +43,14 @@ public class UserAdminException extends AbstractBusinessException {
         return new UserAdminException(USER_ADMIN_USER_NOT_FOUND, String.format("User '%s' was not found", sub));
     }
 
+    /**
+     * @param subs all the missing users of a bulk operation, listed in the message
+     */
+    public static UserAdminException usersNotFound(Collection<String> subs) {
+        return new UserAdminException(USER_ADMIN_USERS_NOT_FOUND, String.format("%d users were not found: %s", subs.size(),
+            subs.stream().sorted().collect(Collectors.joining("', '", "['", "']"))));
+    }
+
     public static UserAdminException profileAlreadyExists(String name) {
         return new UserAdminException(USER_ADMIN_PROFILE_ALREADY_EXISTS, String.format("Profile '%s' already exists", name));
     }
@@ -75,6 +85,18 @@ public class UserAdminException extends AbstractBusinessException {
             String.format("Announcement period [%s, %s] overlaps with an existing announcement", startDate, endDate));
     }
 
+    public static UserAdminException invalidCursor(String cursor) {
+        return new UserAdminException(USER_ADMIN_INVALID_CURSOR, String.format("Invalid pagination cursor '%s'", cursor));
+    }
+
+    public static UserAdminException invalidImport(String reason) {
+        return new UserAdminException(USER_ADMIN_INVALID_IMPORT, String.format("Invalid users import: %s", reason));
+    }
+
+    public static UserAdminException invalidProfileReassignment(String reason) {
+        return new UserAdminException(USER_ADMIN_INVALID_PROFILE_REASSIGNMENT, String.format("Invalid profile reassignment: %s", reason));
+    }
+
     public static UserAdminException of(UserAdminBusinessErrorCode errorCode, String message, Object... args) {
         return new UserAdminException(errorCode, args.length == 0 ? message : String.format(message, args));
     }
@@ -40,13 +40,17 @@ public class UserAdminExceptionHandler
         return switch (errorCode) {
             case USER_ADMIN_PERMISSION_DENIED -> HttpStatus.FORBIDDEN;
             case USER_ADMIN_USER_NOT_FOUND,
+                 USER_ADMIN_USERS_NOT_FOUND,
                  USER_ADMIN_PROFILE_NOT_FOUND,
                  USER_ADMIN_GROUP_NOT_FOUND -> HttpStatus.NOT_FOUND;
             case USER_ADMIN_USER_ALREADY_EXISTS,
                  USER_ADMIN_PROFILE_ALREADY_EXISTS,
                  USER_ADMIN_GROUP_ALREADY_EXISTS,
                  USER_ADMIN_ANNOUNCEMENT_INVALID_PERIOD,
-                 USER_ADMIN_ANNOUNCEMENT_OVERLAP -> HttpStatus.BAD_REQUEST;
+                 USER_ADMIN_ANNOUNCEMENT_OVERLAP,
+                 USER_ADMIN_INVALID_CURSOR,
+                 USER_ADMIN_INVALID_IMPORT,
+                 USER_ADMIN_INVALID_PROFILE_REASSIGNMENT -> HttpStatus.BAD_REQUEST;
             case USER_ADMIN_GROUP_STILL_REFERENCED -> HttpStatus.UNPROCESSABLE_ENTITY;
         };
     }
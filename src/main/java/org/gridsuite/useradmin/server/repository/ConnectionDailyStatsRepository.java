@@ -0,0 +1,23 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.repository;
+
+import org.gridsuite.useradmin.server.entity.ConnectionDailyStatsEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ConnectionDailyStatsRepository extends JpaRepository<ConnectionDailyStatsEntity, LocalDate> {
+
+    Optional<ConnectionDailyStatsEntity> findTopByOrderByDayDesc();
+
+    List<ConnectionDailyStatsEntity> findByDayBetweenOrderByDay(LocalDate from, LocalDate to);
+}
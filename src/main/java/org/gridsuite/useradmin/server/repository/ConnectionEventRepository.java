@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.repository;
+
+import org.gridsuite.useradmin.server.dto.DailyConnectionStats;
+import org.gridsuite.useradmin.server.entity.ConnectionEventEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ConnectionEventRepository extends JpaRepository<ConnectionEventEntity, Long>, ConnectionEventRepositoryCustom {
+
+    @Query("SELECT MIN(e.attemptDate) FROM ConnectionEventEntity e")
+    Optional<LocalDateTime> findFirstAttemptDate();
+
+    @Query("SELECT new org.gridsuite.useradmin.server.dto.DailyConnectionStats("
+        + "CAST(e.attemptDate AS LocalDate), "
+        + "COUNT(DISTINCT e.sub), "
+        + "COUNT(DISTINCT e.sub) FILTER (WHERE e.accepted = true), "
+        + "COUNT(DISTINCT e.sub) FILTER (WHERE e.accepted = false), "
+        + "COALESCE(SUM(e.attempts) FILTER (WHERE e.accepted = true), 0L), "
+        + "COALESCE(SUM(e.attempts) FILTER (WHERE e.accepted = false), 0L)) "
+        + "FROM ConnectionEventEntity e WHERE e.attemptDate >= :from "
+        + "GROUP BY CAST(e.attemptDate AS LocalDate)")
+    List<DailyConnectionStats> aggregateDailyStatsSince(@Param("from") LocalDateTime from);
+
+    @Modifying
+    @Query("DELETE FROM ConnectionEventEntity e WHERE e.attemptDate < :before")
+    int deleteByAttemptDateBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,18 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.repository;
+
+import org.gridsuite.useradmin.server.entity.ConnectionEventEntity;
+
+import java.util.Collection;
+
+public interface ConnectionEventRepositoryCustom {
+    /**
+     * Inserts the events in a JDBC batch. Their ids are generated by the database and not read back.
+     */
+    void insertAll(Collection<ConnectionEventEntity> events);
+}
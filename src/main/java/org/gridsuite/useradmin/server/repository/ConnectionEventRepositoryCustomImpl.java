@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.repository;
+
+import org.gridsuite.useradmin.server.entity.ConnectionEventEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Writes the connection events with plain JDBC: their identity ids would prevent Hibernate from batching the inserts.
+ */
+public class ConnectionEventRepositoryCustomImpl implements ConnectionEventRepositoryCustom {
+    private static final String INSERT_EVENT = "INSERT INTO connection_event (sub, attempt_date, accepted, attempts) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ConnectionEventRepositoryCustomImpl(final JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
+    }
+
+    @Override
+    public void insertAll(Collection<ConnectionEventEntity> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_EVENT, events, events.size(), (ps, event) -> {
+            ps.setString(1, event.getSub());
+            ps.setObject(2, event.getAttemptDate());
+            ps.setBoolean(3, event.isAccepted());
+            ps.setLong(4, event.getAttempts());
+        });
+    }
+}
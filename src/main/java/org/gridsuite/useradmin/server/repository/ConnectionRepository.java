@@ -6,17 +6,29 @@
  */
 package org.gridsuite.useradmin.server.repository;
 
+import jakarta.persistence.QueryHint;
 import org.gridsuite.useradmin.server.entity.ConnectionEntity;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * @author Etienne Homer <etienne.homer at rte-france.com>
  */
 @Repository
-public interface ConnectionRepository extends JpaRepository<ConnectionEntity, UUID> {
+public interface ConnectionRepository extends JpaRepository<ConnectionEntity, UUID>, ConnectionRepositoryCustom {
     List<ConnectionEntity> findBySub(String sub);
+
+    /**
+     * Reads the connections by chunks of the fetch size, to be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT c FROM ConnectionEntity c")
+    Stream<ConnectionEntity> streamAllBy();
 }
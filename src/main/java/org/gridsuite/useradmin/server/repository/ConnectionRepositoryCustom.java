@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.repository;
+
+import jakarta.annotation.Nullable;
+import org.gridsuite.useradmin.server.dto.ConnectionAttempt;
+import org.gridsuite.useradmin.server.dto.ConnectionFilter;
+import org.gridsuite.useradmin.server.dto.ConnectionSort;
+import org.gridsuite.useradmin.server.entity.ConnectionEntity;
+import org.springframework.data.domain.Sort;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ConnectionRepositoryCustom {
+    /**
+     * Inserts the connection of the user, or merges the attempt in it, in a single statement.
+     */
+    void upsert(ConnectionAttempt attempt);
+
+    /**
+     * Upserts several attempts, of distinct users, in a JDBC batch.
+     */
+    void upsertAll(Collection<ConnectionAttempt> attempts);
+
+    /**
+     * Keyset pagination: the page starts after the given position instead of skipping the previous rows.
+     *
+     * @param afterValue value of the sort property of the last connection of the previous page, {@code null} for the first page
+     * @param afterSub sub of the last connection of the previous page, {@code null} for the first page
+     */
+    List<ConnectionEntity> findPage(ConnectionFilter filter, ConnectionSort sort, Sort.Direction direction,
+                                    @Nullable Object afterValue, @Nullable String afterSub, int limit);
+}
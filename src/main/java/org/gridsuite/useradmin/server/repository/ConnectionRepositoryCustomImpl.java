@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.repository;
+
+import jakarta.annotation.Nullable;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.gridsuite.useradmin.server.dto.ConnectionAttempt;
+import org.gridsuite.useradmin.server.dto.ConnectionFilter;
+import org.gridsuite.useradmin.server.dto.ConnectionSort;
+import org.gridsuite.useradmin.server.entity.ConnectionEntity;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Upsert of the connection attempts and keyset pagination of the connections.
+ * <p>
+ * The upsert keeps the earliest first date, the latest last date and the flag of the latest attempt,
+ * so applying an attempt twice has no effect.
+ * <p>
+ * On PostgreSQL, {@code INSERT ... ON CONFLICT} is atomic. H2 doesn't support it and uses a standard
+ * {@code MERGE}: two concurrent first attempts of a user may both try to insert, the one rejected by
+ * the unique constraint on sub is then replayed and updates the inserted connection.
+ */
+public class ConnectionRepositoryCustomImpl implements ConnectionRepositoryCustom {
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static final String POSTGRESQL_UPSERT = """
+        INSERT INTO connection (id, sub, first_connexion_date, last_connexion_date, connection_accepted)
+        VALUES (?, ?, ?, ?, ?)
+        ON CONFLICT (sub) DO UPDATE SET
+            first_connexion_date = LEAST(connection.first_connexion_date, EXCLUDED.first_connexion_date),
+            connection_accepted = CASE WHEN EXCLUDED.last_connexion_date >= connection.last_connexion_date
+                THEN EXCLUDED.connection_accepted ELSE connection.connection_accepted END,
+            last_connexion_date = GREATEST(connection.last_connexion_date, EXCLUDED.last_connexion_date)
+        """;
+
+    private static final String STANDARD_UPSERT = """
+        MERGE INTO connection c
+        USING (VALUES (CAST(? AS UUID), CAST(? AS VARCHAR(255)), CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP), CAST(? AS BOOLEAN)))
+            AS a (id, sub, first_connexion_date, last_connexion_date, connection_accepted)
+        ON c.sub = a.sub
+        WHEN MATCHED THEN UPDATE SET
+            first_connexion_date = LEAST(c.first_connexion_date, a.first_connexion_date),
+            connection_accepted = CASE WHEN a.last_connexion_date >= c.last_connexion_date
+                THEN a.connection_accepted ELSE c.connection_accepted END,
+            last_connexion_date = GREATEST(c.last_connexion_date, a.last_connexion_date)
+        WHEN NOT MATCHED THEN INSERT (id, sub, first_connexion_date, last_connexion_date, connection_accepted)
+            VALUES (a.id, a.sub, a.first_connexion_date, a.last_connexion_date, a.connection_accepted)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private volatile String upsertSql;
+
+    public ConnectionRepositoryCustomImpl(final JdbcTemplate jdbcTemplate, final EntityManager entityManager) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
+        this.entityManager = Objects.requireNonNull(entityManager);
+    }
+
+    @Override
+    public void upsert(ConnectionAttempt attempt) {
+        withRetries(() -> jdbcTemplate.update(getUpsertSql(), ps -> setParameters(ps, attempt)));
+    }
+
+    @Override
+    public void upsertAll(Collection<ConnectionAttempt> attempts) {
+        if (attempts.isEmpty()) {
+            return;
+        }
+        withRetries(() -> jdbcTemplate.batchUpdate(getUpsertSql(), attempts, attempts.size(), ConnectionRepositoryCustomImpl::setParameters));
+    }
+
+    @Override
+    public List<ConnectionEntity> findPage(ConnectionFilter filter, ConnectionSort sort, Sort.Direction direction,
+                                           @Nullable Object afterValue, @Nullable String afterSub, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT c FROM ConnectionEntity c WHERE 1 = 1");
+        Map<String, Object> parameters = new HashMap<>();
+        if (filter.from() != null) {
+            jpql.append(" AND c.lastConnexionDate >= :from");
+            parameters.put("from", LocalDateTime.ofInstant(filter.from(), ZoneOffset.UTC));
+        }
+        if (filter.to() != null) {
+            jpql.append(" AND c.lastConnexionDate < :to");
+            parameters.put("to", LocalDateTime.ofInstant(filter.to(), ZoneOffset.UTC));
+        }
+        if (filter.accepted() != null) {
+            jpql.append(" AND c.connectionAccepted = :accepted");
+            parameters.put("accepted", filter.accepted());
+        }
+        if (filter.subPrefix() != null && !filter.subPrefix().isEmpty()) {
+            jpql.append(" AND c.sub LIKE :subPrefix ESCAPE '\\'");
+            parameters.put("subPrefix", filter.subPrefix().replaceAll("([\\\\%_])", "\\\\$1") + "%");
+        }
+        // the property comes from the enum, never from the request
+        String property = "c." + sort.property();
+        String comparison = direction.isAscending() ? " > " : " < ";
+        if (afterValue != null && afterSub != null) {
+            jpql.append(" AND (").append(property).append(comparison).append(":afterValue")
+                .append(" OR (").append(property).append(" = :afterValue AND c.sub").append(comparison).append(":afterSub))");
+            parameters.put("afterValue", afterValue);
+            parameters.put("afterSub", afterSub);
+        }
+        jpql.append(" ORDER BY ").append(property).append(' ').append(direction.name())
+            .append(", c.sub ").append(direction.name());
+
+        TypedQuery<ConnectionEntity> query = entityManager.createQuery(jpql.toString(), ConnectionEntity.class)
+            .setMaxResults(limit);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    private static void setParameters(PreparedStatement ps, ConnectionAttempt attempt) throws SQLException {
+        ps.setObject(1, UUID.randomUUID());
+        ps.setString(2, attempt.sub());
+        ps.setObject(3, attempt.firstDate());
+        ps.setObject(4, attempt.lastDate());
+        ps.setBoolean(5, attempt.accepted());
+    }
+
+    private void withRetries(Runnable upsert) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                upsert.run();
+                return;
+            } catch (DuplicateKeyException | ConcurrencyFailureException e) {
+                // only with MERGE: the connection has been inserted concurrently, it is now matched
+                if (attempt == MAX_ATTEMPTS || POSTGRESQL_UPSERT.equals(upsertSql)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private String getUpsertSql() {
+        if (upsertSql == null) {
+            upsertSql = SqlDialect.isPostgreSql(jdbcTemplate) ? POSTGRESQL_UPSERT : STANDARD_UPSERT;
+        }
+        return upsertSql;
+    }
+}
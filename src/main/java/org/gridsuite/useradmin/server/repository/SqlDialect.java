@@ -0,0 +1,34 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import java.sql.DatabaseMetaData;
+import java.util.Objects;
+
+/**
+ * The conflict handling statements differ between PostgreSQL, which supports {@code INSERT ... ON CONFLICT},
+ * and the other databases (H2 in the tests), which use a standard {@code MERGE}.
+ */
+public final class SqlDialect {
+    private SqlDialect() {
+        throw new IllegalCallerException("Utility class can not be initialize.");
+    }
+
+    public static boolean isPostgreSql(JdbcTemplate jdbcTemplate) {
+        try {
+            String databaseName = JdbcUtils.commonDatabaseName(JdbcUtils.extractDatabaseMetaData(
+                Objects.requireNonNull(jdbcTemplate.getDataSource()), DatabaseMetaData::getDatabaseProductName));
+            return "PostgreSQL".equals(databaseName);
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Unable to determine the database product", e);
+        }
+    }
+}
@@ -8,9 +8,13 @@ package org.gridsuite.useradmin.server.repository;
 
 import org.gridsuite.useradmin.server.entity.GroupInfosEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,8 +23,40 @@ import java.util.UUID;
  * @author Franck Lecuyer <franck.lecuyer at rte-france.com>
  */
 @Repository
-public interface UserGroupRepository extends JpaRepository<GroupInfosEntity, UUID> {
+public interface UserGroupRepository extends JpaRepository<GroupInfosEntity, UUID>, UserGroupRepositoryCustom {
     long deleteAllByNameIn(@NonNull List<String> names);
 
     Optional<GroupInfosEntity> findByName(@NonNull String name);
+
+    List<GroupInfosEntity> findByNameIn(@NonNull Collection<String> names);
+
+    /**
+     * @return the pairs of user id and name of one of its groups
+     */
+    @Query("SELECT u.id, g.name FROM GroupInfosEntity g JOIN g.users u WHERE u.id IN :userIds")
+    List<Object[]> findUserIdAndGroupNameByUserIdIn(@NonNull @Param("userIds") Collection<UUID> userIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM users_groups WHERE user_infos_id IN :userIds", nativeQuery = true)
+    int deleteMembershipsByUserIdIn(@NonNull @Param("userIds") Collection<UUID> userIds);
+
+    /**
+     * @return the pairs of id and sub of the members of the group
+     */
+    @Query("SELECT u.id, u.sub FROM GroupInfosEntity g JOIN g.users u WHERE g.id = :groupId")
+    List<Object[]> findMemberIdAndSubByGroupId(@NonNull @Param("groupId") UUID groupId);
+
+    /**
+     * @return the ids of the given users which are members of the group
+     */
+    @Query("SELECT u.id FROM GroupInfosEntity g JOIN g.users u WHERE g.id = :groupId AND u.id IN :userIds")
+    List<UUID> findMemberIdsByGroupIdAndUserIdIn(@NonNull @Param("groupId") UUID groupId, @NonNull @Param("userIds") Collection<UUID> userIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM users_groups WHERE group_infos_id = :groupId AND user_infos_id IN :userIds", nativeQuery = true)
+    int deleteMembershipsByGroupIdAndUserIdIn(@NonNull @Param("groupId") UUID groupId, @NonNull @Param("userIds") Collection<UUID> userIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM users_groups WHERE user_infos_id = :userId AND group_infos_id IN :groupIds", nativeQuery = true)
+    int deleteMembershipsByUserIdAndGroupIdIn(@NonNull @Param("userId") UUID userId, @NonNull @Param("groupIds") Collection<UUID> groupIds);
 }
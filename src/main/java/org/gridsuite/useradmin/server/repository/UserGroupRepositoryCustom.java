@@ -0,0 +1,26 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.repository;
+
+import java.util.Collection;
+import java.util.UUID;
+
+public interface UserGroupRepositoryCustom {
+    /**
+     * Inserts the memberships of the users to the group in a JDBC batch, without loading the group nor the users.
+     * The existing memberships, even if inserted concurrently, are left untouched.
+     *
+     * @return the number of memberships inserted
+     */
+    int insertMemberships(UUID groupId, Collection<UUID> userIds);
+
+    /**
+     * Inserts the memberships of the user to the groups in a JDBC batch, without loading the groups nor the user.
+     * The existing memberships, even if inserted concurrently, are left untouched.
+     */
+    void insertUserMemberships(UUID userId, Collection<UUID> groupIds);
+}
@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.repository;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Writes the group memberships directly in the join table: the loaded groups and users are flushed
+ * beforehand, and must be reloaded to see the new memberships.
+ * <p>
+ * The inserts skip the existing memberships, with {@code ON CONFLICT DO NOTHING} on PostgreSQL and a
+ * {@code MERGE} elsewhere, so that two concurrent additions of the same member both succeed.
+ */
+public class UserGroupRepositoryCustomImpl implements UserGroupRepositoryCustom {
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String POSTGRESQL_INSERT_MEMBERSHIP = "INSERT INTO users_groups (group_infos_id, user_infos_id) VALUES (?, ?) ON CONFLICT DO NOTHING";
+    private static final String STANDARD_INSERT_MEMBERSHIP = """
+        MERGE INTO users_groups g
+        USING (VALUES (CAST(? AS UUID), CAST(? AS UUID))) AS m (group_infos_id, user_infos_id)
+        ON g.group_infos_id = m.group_infos_id AND g.user_infos_id = m.user_infos_id
+        WHEN NOT MATCHED THEN INSERT (group_infos_id, user_infos_id) VALUES (m.group_infos_id, m.user_infos_id)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private volatile String insertMembershipSql;
+
+    public UserGroupRepositoryCustomImpl(final JdbcTemplate jdbcTemplate, final EntityManager entityManager) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
+        this.entityManager = Objects.requireNonNull(entityManager);
+    }
+
+    @Override
+    public int insertMemberships(UUID groupId, Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        entityManager.flush();
+        int[][] counts = jdbcTemplate.batchUpdate(getInsertMembershipSql(), userIds, BATCH_SIZE, (statement, userId) -> {
+            statement.setObject(1, groupId);
+            statement.setObject(2, userId);
+        });
+        // a driver not reporting the count of each row gives SUCCESS_NO_INFO, counted as an insert
+        return (int) Arrays.stream(counts).flatMapToInt(Arrays::stream).filter(count -> count != 0).count();
+    }
+
+    @Override
+    public void insertUserMemberships(UUID userId, Collection<UUID> groupIds) {
+        if (groupIds.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        jdbcTemplate.batchUpdate(getInsertMembershipSql(), groupIds, BATCH_SIZE, (statement, groupId) -> {
+            statement.setObject(1, groupId);
+            statement.setObject(2, userId);
+        });
+    }
+
+    private String getInsertMembershipSql() {
+        if (insertMembershipSql == null) {
+            insertMembershipSql = SqlDialect.isPostgreSql(jdbcTemplate) ? POSTGRESQL_INSERT_MEMBERSHIP : STANDARD_INSERT_MEMBERSHIP;
+        }
+        return insertMembershipSql;
+    }
+}
@@ -6,25 +6,112 @@
  */
 package org.gridsuite.useradmin.server.repository;
 
+import jakarta.persistence.QueryHint;
+import org.gridsuite.useradmin.server.dto.UserQuota;
+import org.gridsuite.useradmin.server.dto.UserSummary;
 import org.gridsuite.useradmin.server.entity.UserInfosEntity;
+import org.gridsuite.useradmin.server.entity.UserProfileEntity;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * @author Etienne Homer <etienne.homer at rte-france.com>
  */
 @Repository
-public interface UserInfosRepository extends JpaRepository<UserInfosEntity, UUID> {
+public interface UserInfosRepository extends JpaRepository<UserInfosEntity, UUID>, UserInfosRepositoryCustom {
     boolean existsBySub(@NonNull String sub);
 
     Optional<UserInfosEntity> findBySub(@NonNull String sub);
 
     long deleteBySub(@NonNull String sub);
 
+    /**
+     * All the users with their profile and groups, fetched in a single statement.
+     */
+    @EntityGraph(attributePaths = {"profile", "groups"})
+    @Query("SELECT u FROM UserInfosEntity u")
+    List<UserInfosEntity> findAllWithProfileAndGroups();
+
+    @EntityGraph(attributePaths = {"profile", "groups"})
+    List<UserInfosEntity> findAllByIdIn(@NonNull Collection<UUID> ids);
+
+    /**
+     * Reads the users by chunks of the fetch size, to be consumed inside a transaction.
+     * No entity is kept in the persistence context.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new org.gridsuite.useradmin.server.dto.UserSummary(u.id, u.sub, p.name) "
+        + "FROM UserInfosEntity u LEFT JOIN u.profile p ORDER BY u.sub")
+    Stream<UserSummary> streamSummaries();
+
     long deleteAllBySubIn(@NonNull Collection<String> subs);
+
+    /**
+     * Quotas of a user read in a single statement, without hydrating the user nor its profile.
+     * The limits are {@code null} when the user has no profile or its profile doesn't define them.
+     */
+    @Query("SELECT new org.gridsuite.useradmin.server.dto.UserQuota(u.sub, p.name, p.maxAllowedCases, p.maxAllowedBuilds) "
+        + "FROM UserInfosEntity u LEFT JOIN u.profile p WHERE u.sub = :sub")
+    Optional<UserQuota> findQuotaBySub(@NonNull @Param("sub") String sub);
+
+    /**
+     * Profile of a user in a single joined statement, without loading the user: empty if the user
+     * doesn't exist or has no profile.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT p FROM UserInfosEntity u JOIN u.profile p WHERE u.sub = :sub")
+    Optional<UserProfileEntity> findProfileBySub(@NonNull @Param("sub") String sub);
+
+    @Query("SELECT new org.gridsuite.useradmin.server.dto.UserQuota(u.sub, p.name, p.maxAllowedCases, p.maxAllowedBuilds) "
+        + "FROM UserInfosEntity u LEFT JOIN u.profile p WHERE u.sub IN :subs")
+    List<UserQuota> findQuotasBySubIn(@NonNull @Param("subs") Collection<String> subs);
+
+    @Query("SELECT u.sub FROM UserInfosEntity u WHERE u.profile.id = :profileId")
+    List<String> findSubsByProfileId(@NonNull @Param("profileId") UUID profileId);
+
+    @Query("SELECT u.sub FROM UserInfosEntity u WHERE u.profile.name IN :profileNames")
+    List<String> findSubsByProfileNameIn(@NonNull @Param("profileNames") Collection<String> profileNames);
+
+    @Query("SELECT u.sub FROM UserInfosEntity u")
+    List<String> findAllSubs();
+
+    /**
+     * @return the pairs of id and sub of the existing users among the given subs
+     */
+    @Query("SELECT u.id, u.sub FROM UserInfosEntity u WHERE u.sub IN :subs")
+    List<Object[]> findIdAndSubBySubIn(@NonNull @Param("subs") Collection<String> subs);
+
+    /**
+     * Set-based, without loading the users: their group memberships must be deleted beforehand.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM UserInfosEntity u WHERE u.id IN :ids")
+    int deleteAllByIdIn(@NonNull @Param("ids") Collection<UUID> ids);
+
+    /**
+     * Set-based, without loading the users. Their version is incremented as a versioned update would.
+     *
+     * @return the number of users whose profile changed
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UserInfosEntity u SET u.profile = :profile, u.version = u.version + 1 "
+        + "WHERE u.sub IN :subs AND (u.profile IS NULL OR u.profile <> :profile)")
+    int updateProfileBySubIn(@NonNull @Param("subs") Collection<String> subs, @NonNull @Param("profile") UserProfileEntity profile);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UserInfosEntity u SET u.profile = :profile, u.version = u.version + 1 WHERE u.profile.id = :fromProfileId")
+    int updateProfileByProfileId(@NonNull @Param("fromProfileId") UUID fromProfileId, @NonNull @Param("profile") UserProfileEntity profile);
 }
@@ -0,0 +1,27 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.repository;
+
+import jakarta.annotation.Nullable;
+import org.gridsuite.useradmin.server.dto.UserFilter;
+import org.gridsuite.useradmin.server.dto.UserSort;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface UserInfosRepositoryCustom {
+    /**
+     * Keyset pagination of the users ids only, so that the page can then be loaded with its collections
+     * without paginating a fetch join in memory.
+     *
+     * @param afterValue value of the sort key of the last user of the previous page, {@code null} for the first page
+     * @param afterSub sub of the last user of the previous page, {@code null} for the first page
+     */
+    List<UUID> findPageIds(UserFilter filter, UserSort sort, Sort.Direction direction,
+                           @Nullable String afterValue, @Nullable String afterSub, int limit);
+}
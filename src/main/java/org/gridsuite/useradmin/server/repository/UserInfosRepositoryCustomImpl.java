@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.repository;
+
+import jakarta.annotation.Nullable;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.gridsuite.useradmin.server.dto.UserFilter;
+import org.gridsuite.useradmin.server.dto.UserSort;
+import org.springframework.data.domain.Sort;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+public class UserInfosRepositoryCustomImpl implements UserInfosRepositoryCustom {
+    private final EntityManager entityManager;
+
+    public UserInfosRepositoryCustomImpl(final EntityManager entityManager) {
+        this.entityManager = Objects.requireNonNull(entityManager);
+    }
+
+    @Override
+    public List<UUID> findPageIds(UserFilter filter, UserSort sort, Sort.Direction direction,
+                                  @Nullable String afterValue, @Nullable String afterSub, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT u.id FROM UserInfosEntity u LEFT JOIN u.profile p WHERE 1 = 1");
+        Map<String, Object> parameters = new HashMap<>();
+        if (filter.profileName() != null) {
+            jpql.append(" AND p.name = :profileName");
+            parameters.put("profileName", filter.profileName());
+        }
+        if (filter.groupName() != null) {
+            jpql.append(" AND EXISTS (SELECT g.id FROM GroupInfosEntity g JOIN g.users gu WHERE gu.id = u.id AND g.name = :groupName)");
+            parameters.put("groupName", filter.groupName());
+        }
+        if (filter.subContains() != null && !filter.subContains().isEmpty()) {
+            jpql.append(" AND LOWER(u.sub) LIKE :subContains ESCAPE '\\'");
+            parameters.put("subContains", "%" + filter.subContains().toLowerCase(Locale.ROOT).replaceAll("([\\\\%_])", "\\\\$1") + "%");
+        }
+        String key = switch (sort) {
+            case SUB -> "u.sub";
+            case PROFILE -> "COALESCE(p.name, '')";
+        };
+        String comparison = direction.isAscending() ? " > " : " < ";
+        if (afterValue != null && afterSub != null) {
+            jpql.append(" AND (").append(key).append(comparison).append(":afterValue")
+                .append(" OR (").append(key).append(" = :afterValue AND u.sub").append(comparison).append(":afterSub))");
+            parameters.put("afterValue", afterValue);
+            parameters.put("afterSub", afterSub);
+        }
+        jpql.append(" ORDER BY ").append(key).append(' ').append(direction.name())
+            .append(", u.sub ").append(direction.name());
+
+        TypedQuery<UUID> query = entityManager.createQuery(jpql.toString(), UUID.class)
+            .setMaxResults(limit);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,32 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.schedule;
+
+import lombok.AllArgsConstructor;
+import net.javacrumbs.shedlock.core.LockAssert;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.gridsuite.useradmin.server.service.ConnectionStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@AllArgsConstructor
+public class ScheduledConnectionStats {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScheduledConnectionStats.class);
+
+    private final ConnectionStatsService connectionStatsService;
+
+    @Scheduled(cron = "${useradmin.cron.connection-stats-rollup:-}", zone = "UTC")
+    @SchedulerLock(name = "rollupConnectionStats", lockAtLeastFor = "1s", lockAtMostFor = "5m")
+    public void rollupConnectionStats() {
+        LOGGER.debug("Connection statistics rollup cron starting");
+        LockAssert.assertLocked();
+        connectionStatsService.rollup();
+    }
+}
@@ -0,0 +1,31 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.schedule;
+
+import lombok.AllArgsConstructor;
+import org.gridsuite.useradmin.server.service.UserSearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Not locked: each replica has its own index.
+ */
+@Component
+@AllArgsConstructor
+public class ScheduledUserSearchIndexResync {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScheduledUserSearchIndexResync.class);
+
+    private final UserSearchIndex userSearchIndex;
+
+    @Scheduled(cron = "${useradmin.cron.user-search-index-resync:-}", zone = "UTC")
+    public void resyncUserSearchIndex() {
+        LOGGER.debug("User search index resync cron starting");
+        userSearchIndex.resync();
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static org.gridsuite.useradmin.server.service.NotificationService.*;
+
+/**
+ * Propagates the evictions of the local caches to the other replicas of the server.
+ * <p>
+ * Every replica consumes the invalidation messages (no consumer group) and evicts the given keys
+ * from its own cache, except for the messages it emitted itself.
+ */
+@Service
+public class CacheInvalidationService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheInvalidationService.class);
+
+    public static final String INVALIDATION_LAG_METER = "useradmin.cache.invalidation.lag";
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, Consumer<List<String>>> localInvalidators = new ConcurrentHashMap<>();
+
+    private final NotificationService notificationService;
+    private final MeterRegistry meterRegistry;
+
+    public CacheInvalidationService(final NotificationService notificationService, final MeterRegistry meterRegistry) {
+        this.notificationService = Objects.requireNonNull(notificationService);
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
+    }
+
+    /**
+     * @param localInvalidator evicts the given keys from the local cache only
+     */
+    public void register(String cacheName, Consumer<List<String>> localInvalidator) {
+        localInvalidators.put(cacheName, localInvalidator);
+    }
+
+    public void publish(String cacheName, List<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        try {
+            notificationService.emitCacheInvalidationMessage(cacheName, keys, instanceId);
+        } catch (Exception e) {
+            // the other replicas will serve stale entries until they expire
+            LOGGER.warn("Failed to propagate the eviction of {} entries of cache '{}': {}", keys.size(), cacheName, e.getMessage());
+        }
+    }
+
+    @Bean
+    public Consumer<Message<List<String>>> consumeCacheInvalidation() {
+        return this::onInvalidationMessage;
+    }
+
+    void onInvalidationMessage(Message<List<String>> message) {
+        MessageHeaders headers = message.getHeaders();
+        String cacheName = headers.get(HEADER_CACHE_NAME, String.class);
+        if (instanceId.equals(headers.get(HEADER_ORIGIN, String.class))) {
+            // already evicted locally when emitted
+            return;
+        }
+        Consumer<List<String>> localInvalidator = cacheName == null ? null : localInvalidators.get(cacheName);
+        if (localInvalidator == null) {
+            LOGGER.debug("Ignoring invalidation message for unknown cache '{}'", cacheName);
+            return;
+        }
+        localInvalidator.accept(message.getPayload());
+
+        Long emittedAt = headers.get(HEADER_EMITTED_AT, Long.class);
+        if (emittedAt != null) {
+            Timer.builder(INVALIDATION_LAG_METER)
+                .description("Delay between a cache eviction on a replica and its propagation to this one")
+                .tag("cache", cacheName)
+                .register(meterRegistry)
+                .record(Duration.ofMillis(Math.max(0L, System.currentTimeMillis() - emittedAt)));
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.gridsuite.useradmin.server.UserAdminApplicationProps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker and bulkhead of the calls to another server.
+ * <p>
+ * The circuit opens when the failure rate of the last calls reaches the threshold: the calls are then
+ * rejected without being made until the open duration elapses, after which a single probe call closes
+ * it again or reopens it. The client errors (4xx) aren't failures of the server.
+ * The concurrent calls are bounded too: a call waits at most the configured time for a slot.
+ */
+class CircuitBreaker {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    static final String STATE_METER = "useradmin.circuitbreaker.state";
+    static final String TRANSITIONS_METER = "useradmin.circuitbreaker.transitions";
+    static final String REJECTED_METER = "useradmin.circuitbreaker.rejected";
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /**
+     * Thrown instead of making the call when the circuit is open or the bulkhead is full.
+     */
+    static class CallNotPermittedException extends RuntimeException {
+        CallNotPermittedException(String message) {
+            super(message);
+        }
+    }
+
+    private final String name;
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final long openDurationNanos;
+    private final long maxWaitNanos;
+    private final Semaphore bulkhead;
+    private final LongSupplier nanoClock;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejectedByCircuitCounter;
+    private final Counter rejectedByBulkheadCounter;
+
+    // outcomes of the last calls, in a ring, guarded by this
+    private final boolean[] failures;
+    private int nextIndex;
+    private int recordedCalls;
+    private int failedCalls;
+
+    private volatile State state = State.CLOSED;
+    private long openedAt;
+    private boolean probing;
+
+    CircuitBreaker(String name, UserAdminApplicationProps.CircuitBreakerSpec spec, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.name = name;
+        this.failureRateThreshold = spec.getFailureRateThreshold();
+        this.minimumCalls = spec.getMinimumCalls();
+        this.openDurationNanos = spec.getOpenDuration().toNanos();
+        this.maxWaitNanos = spec.getMaxWait().toNanos();
+        this.bulkhead = new Semaphore(spec.getMaxConcurrentCalls());
+        this.failures = new boolean[spec.getSlidingWindowSize()];
+        this.nanoClock = nanoClock;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder(STATE_METER, this, circuitBreaker -> circuitBreaker.state.ordinal())
+            .description("State of the circuit breaker: 0 closed, 1 open, 2 half open")
+            .tag("name", name)
+            .register(meterRegistry);
+        this.rejectedByCircuitCounter = rejectedCounter("circuit");
+        this.rejectedByBulkheadCounter = rejectedCounter("bulkhead");
+    }
+
+    private Counter rejectedCounter(String reason) {
+        return Counter.builder(REJECTED_METER)
+            .description("Calls rejected without being made")
+            .tag("name", name)
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+
+    State getState() {
+        return state;
+    }
+
+    <T> T call(Supplier<T> call) {
+        try {
+            if (!bulkhead.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                rejectedByBulkheadCounter.increment();
+                throw new CallNotPermittedException("Too many concurrent calls to " + name);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CallNotPermittedException("Interrupted while waiting to call " + name);
+        }
+        try {
+            boolean probe = acquirePermission();
+            // any throwable, errors included, is a failure that releases the probe
+            boolean failed = true;
+            try {
+                T result = call.get();
+                failed = false;
+                return result;
+            } catch (HttpClientErrorException e) {
+                failed = false;
+                throw e;
+            } finally {
+                onResult(probe, failed);
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * @return whether the call is the probe of a half open circuit
+     */
+    private synchronized boolean acquirePermission() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openDurationNanos) {
+                rejectedByCircuitCounter.increment();
+                throw new CallNotPermittedException("Circuit to " + name + " is open");
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probing) {
+                rejectedByCircuitCounter.increment();
+                throw new CallNotPermittedException("Circuit to " + name + " is half open");
+            }
+            probing = true;
+            return true;
+        }
+        return false;
+    }
+
+    private synchronized void onResult(boolean probe, boolean failed) {
+        if (probe) {
+            probing = false;
+            if (failed) {
+                open();
+            } else {
+                resetWindow();
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        if (state != State.CLOSED) {
+            // call started before the circuit opened
+            return;
+        }
+        if (recordedCalls == failures.length) {
+            failedCalls -= failures[nextIndex] ? 1 : 0;
+        } else {
+            recordedCalls++;
+        }
+        failures[nextIndex] = failed;
+        failedCalls += failed ? 1 : 0;
+        nextIndex = (nextIndex + 1) % failures.length;
+        if (recordedCalls >= minimumCalls && failedCalls * 100 >= failureRateThreshold * recordedCalls) {
+            open();
+        }
+    }
+
+    private void open() {
+        openedAt = nanoClock.getAsLong();
+        resetWindow();
+        transitionTo(State.OPEN);
+    }
+
+    private void resetWindow() {
+        nextIndex = 0;
+        recordedCalls = 0;
+        failedCalls = 0;
+    }
+
+    private void transitionTo(State newState) {
+        State oldState = state;
+        if (oldState == newState) {
+            return;
+        }
+        state = newState;
+        if (newState == State.OPEN) {
+            LOGGER.warn("Circuit to {} is open, its calls are rejected for {} ms", name, TimeUnit.NANOSECONDS.toMillis(openDurationNanos));
+        } else {
+            LOGGER.info("Circuit to {} is {}", name, newState);
+        }
+        Counter.builder(TRANSITIONS_METER)
+            .description("State transitions of the circuit breaker")
+            .tag("name", name)
+            .tag("from", oldState.name())
+            .tag("to", newState.name())
+            .register(meterRegistry)
+            .increment();
+    }
+}
@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.gridsuite.useradmin.server.UserAdminApplicationProps;
+import org.gridsuite.useradmin.server.dto.ConnectionAttempt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Write-behind buffer of the connection attempts, enabled by {@code useradmin.connection-buffer.enabled}.
+ * <p>
+ * The attempts are coalesced by sub and written in batches by a single thread, when the buffer reaches
+ * the flush size or at the flush interval. When the buffer is full, {@link #offer} refuses the attempt
+ * and the caller writes it synchronously: the login requests are then slowed down to the database pace.
+ * The remaining attempts are written on shutdown.
+ */
+@Component
+public class ConnectionAttemptBuffer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionAttemptBuffer.class);
+
+    public static final String BUFFER_SIZE_METER = "useradmin.connections.buffer.size";
+    public static final String FLUSH_METER = "useradmin.connections.buffer.flush";
+    public static final String OVERFLOW_METER = "useradmin.connections.buffer.overflow";
+
+    private final Map<String, ConnectionAttempt> attempts = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private volatile boolean closed;
+
+    private final ConnectionsService connectionsService;
+    private final int capacity;
+    private final int flushSize;
+    private final ScheduledExecutorService flushExecutor;
+    private final Timer flushTimer;
+    private final Counter overflowCounter;
+
+    public ConnectionAttemptBuffer(final ConnectionsService connectionsService,
+                                   final UserAdminApplicationProps applicationProps,
+                                   final MeterRegistry meterRegistry) {
+        this.connectionsService = Objects.requireNonNull(connectionsService);
+        UserAdminApplicationProps.ConnectionBuffer config = applicationProps.getConnectionBuffer();
+        this.capacity = config.getCapacity();
+        this.flushSize = config.getFlushSize();
+        this.flushTimer = Timer.builder(FLUSH_METER)
+            .description("Duration of the writing of a batch of buffered connection attempts")
+            .register(meterRegistry);
+        this.overflowCounter = Counter.builder(OVERFLOW_METER)
+            .description("Connection attempts written synchronously because the buffer was full")
+            .register(meterRegistry);
+        Gauge.builder(BUFFER_SIZE_METER, attempts, Map::size)
+            .description("Number of subs with buffered connection attempts")
+            .register(meterRegistry);
+        if (config.isEnabled()) {
+            this.flushExecutor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("connection-buffer-flush").daemon().factory());
+            long interval = config.getFlushInterval().toMillis();
+            this.flushExecutor.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            this.flushExecutor = null;
+        }
+    }
+
+    /**
+     * @return {@code false} if the attempt has not been buffered and must be written by the caller
+     */
+    public boolean offer(String sub, boolean isConnectionAccepted) {
+        if (flushExecutor == null || closed) {
+            return false;
+        }
+        if (attempts.size() >= capacity && !attempts.containsKey(sub)) {
+            overflowCounter.increment();
+            requestFlush();
+            return false;
+        }
+        //To avoid consistency issue, we truncate the time to microseconds since postgres and h2 can only store a precision of microseconds
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS);
+        attempts.merge(sub, ConnectionAttempt.of(sub, now, isConnectionAccepted), ConnectionAttempt::merge);
+        if (attempts.size() >= flushSize) {
+            requestFlush();
+        }
+        return true;
+    }
+
+    private void requestFlush() {
+        if (flushRequested.compareAndSet(false, true)) {
+            try {
+                flushExecutor.execute(() -> {
+                    flushRequested.set(false);
+                    flush();
+                });
+            } catch (RejectedExecutionException e) {
+                // shutting down: the buffer is flushed by close()
+                flushRequested.set(false);
+            }
+        }
+    }
+
+    /**
+     * Writes all the buffered attempts, by batches of the flush size.
+     * On failure, the attempts of the batch are put back in the buffer for the next flush.
+     */
+    public synchronized void flush() {
+        while (!attempts.isEmpty()) {
+            List<ConnectionAttempt> batch = new ArrayList<>(Math.min(flushSize, attempts.size()));
+            Iterator<String> subs = attempts.keySet().iterator();
+            while (subs.hasNext() && batch.size() < flushSize) {
+                ConnectionAttempt attempt = attempts.remove(subs.next());
+                if (attempt != null) {
+                    batch.add(attempt);
+                }
+            }
+            try {
+                flushTimer.record(() -> connectionsService.recordConnectionAttempts(batch));
+            } catch (RuntimeException e) {
+                LOGGER.error("Failed to write {} buffered connection attempts", batch.size(), e);
+                batch.forEach(attempt -> attempts.merge(attempt.sub(), attempt, ConnectionAttempt::merge));
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        if (flushExecutor == null) {
+            return;
+        }
+        closed = true;
+        flushExecutor.shutdown();
+        if (!flushExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+            LOGGER.warn("Connection attempts flush still running on shutdown");
+        }
+        flush();
+    }
+}
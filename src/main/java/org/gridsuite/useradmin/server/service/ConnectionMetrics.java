@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.gridsuite.useradmin.server.UserAdminApplicationProps;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Meters of the connection attempts. None is tagged by sub, to bound their cardinality.
+ */
+@Component
+public class ConnectionMetrics {
+    public static final String ATTEMPTS_METER = "useradmin.connections.attempts";
+    public static final String RECORD_METER = "useradmin.connections.record";
+    public static final String RECORD_DB_METER = "useradmin.connections.record.db";
+    public static final String DISTINCT_SUBS_METER = "useradmin.connections.distinct.subs";
+
+    private final Counter acceptedCounter;
+    private final Counter refusedCounter;
+    private final Timer bufferedRecordTimer;
+    private final Timer syncRecordTimer;
+    private final Timer dbTimer;
+    private final SlidingWindowHyperLogLog distinctSubs;
+
+    public ConnectionMetrics(final UserAdminApplicationProps applicationProps, final MeterRegistry meterRegistry) {
+        this.acceptedCounter = attemptsCounter(true, meterRegistry);
+        this.refusedCounter = attemptsCounter(false, meterRegistry);
+        this.bufferedRecordTimer = recordTimer(true, meterRegistry);
+        this.syncRecordTimer = recordTimer(false, meterRegistry);
+        this.dbTimer = Timer.builder(RECORD_DB_METER)
+            .description("Duration of the database statements recording a connection attempt synchronously")
+            .register(meterRegistry);
+        Duration window = applicationProps.getDistinctSubsWindow();
+        this.distinctSubs = new SlidingWindowHyperLogLog(window, System::currentTimeMillis);
+        Gauge.builder(DISTINCT_SUBS_METER, distinctSubs, SlidingWindowHyperLogLog::estimate)
+            .description("Estimated number of distinct subs with a connection attempt in the last " + window.toMinutes() + " minutes")
+            .register(meterRegistry);
+    }
+
+    private static Counter attemptsCounter(boolean accepted, MeterRegistry meterRegistry) {
+        return Counter.builder(ATTEMPTS_METER)
+            .description("Connection attempts recorded")
+            .tag("accepted", String.valueOf(accepted))
+            .register(meterRegistry);
+    }
+
+    private static Timer recordTimer(boolean buffered, MeterRegistry meterRegistry) {
+        return Timer.builder(RECORD_METER)
+            .description("Total duration of the recording of a connection attempt, including the transaction commit when not buffered")
+            .tag("buffered", String.valueOf(buffered))
+            .register(meterRegistry);
+    }
+
+    public void countAttempt(String sub, boolean accepted) {
+        (accepted ? acceptedCounter : refusedCounter).increment();
+        distinctSubs.add(sub);
+    }
+
+    public Timer recordTimer(boolean buffered) {
+        return buffered ? bufferedRecordTimer : syncRecordTimer;
+    }
+
+    public Timer dbTimer() {
+        return dbTimer;
+    }
+}
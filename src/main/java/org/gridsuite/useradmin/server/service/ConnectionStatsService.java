@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.service;
+
+import org.gridsuite.useradmin.server.UserAdminApplicationProps;
+import org.gridsuite.useradmin.server.dto.DailyConnectionStats;
+import org.gridsuite.useradmin.server.entity.ConnectionDailyStatsEntity;
+import org.gridsuite.useradmin.server.repository.ConnectionDailyStatsRepository;
+import org.gridsuite.useradmin.server.repository.ConnectionEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Maintains the daily connection statistics from the connection events, so that they are served
+ * without scanning the events.
+ */
+@Service
+public class ConnectionStatsService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionStatsService.class);
+
+    private final ConnectionEventRepository connectionEventRepository;
+    private final ConnectionDailyStatsRepository connectionDailyStatsRepository;
+    private final Duration eventsRetention;
+
+    public ConnectionStatsService(final ConnectionEventRepository connectionEventRepository,
+                                  final ConnectionDailyStatsRepository connectionDailyStatsRepository,
+                                  final UserAdminApplicationProps applicationProps) {
+        this.connectionEventRepository = Objects.requireNonNull(connectionEventRepository);
+        this.connectionDailyStatsRepository = Objects.requireNonNull(connectionDailyStatsRepository);
+        this.eventsRetention = applicationProps.getConnectionEventsRetention();
+    }
+
+    /**
+     * Recomputes the statistics of the days since the last one rolled up, which may have been partial.
+     * The day before is recomputed too for the events written late, e.g. by the connection buffer.
+     * The events of the days rolled up for good are then deleted once older than the retention.
+     */
+    @Transactional
+    public void rollup() {
+        Optional<LocalDate> from = connectionDailyStatsRepository.findTopByOrderByDayDesc()
+            .map(latest -> latest.getDay().minusDays(1))
+            .or(() -> connectionEventRepository.findFirstAttemptDate().map(LocalDateTime::toLocalDate));
+        if (from.isEmpty()) {
+            return;
+        }
+        List<DailyConnectionStats> stats = connectionEventRepository.aggregateDailyStatsSince(from.get().atStartOfDay());
+        connectionDailyStatsRepository.saveAll(stats.stream().map(ConnectionDailyStatsEntity::fromDto).toList());
+
+        LocalDateTime retentionLimit = LocalDateTime.now(ZoneOffset.UTC).minus(eventsRetention);
+        LocalDateTime purgeBefore = from.get().atStartOfDay();
+        if (retentionLimit.isBefore(purgeBefore)) {
+            purgeBefore = retentionLimit;
+        }
+        int purged = connectionEventRepository.deleteByAttemptDateBefore(purgeBefore);
+        LOGGER.debug("{} day(s) of connection statistics rolled up, {} connection event(s) purged", stats.size(), purged);
+    }
+
+    /**
+     * @return the statistics of the days between the given ones, both inclusive, without the days without any attempt
+     */
+    @Transactional(readOnly = true)
+    public List<DailyConnectionStats> getDailyStats(LocalDate from, LocalDate to) {
+        return connectionDailyStatsRepository.findByDayBetweenOrderByDay(from, to).stream()
+            .map(ConnectionDailyStatsEntity::toDto)
+            .toList();
+    }
+}
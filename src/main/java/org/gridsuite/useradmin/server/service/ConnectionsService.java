@@ -6,18 +6,32 @@
  */
 package org.gridsuite.useradmin.server.service;
 
+import jakarta.annotation.Nullable;
+import jakarta.persistence.EntityManager;
+import org.gridsuite.useradmin.server.dto.ConnectionAttempt;
+import org.gridsuite.useradmin.server.dto.ConnectionFilter;
+import org.gridsuite.useradmin.server.dto.ConnectionSort;
+import org.gridsuite.useradmin.server.dto.ConnectionsPage;
 import org.gridsuite.useradmin.server.dto.UserConnection;
 import org.gridsuite.useradmin.server.entity.ConnectionEntity;
+import org.gridsuite.useradmin.server.entity.ConnectionEventEntity;
+import org.gridsuite.useradmin.server.error.UserAdminException;
+import org.gridsuite.useradmin.server.repository.ConnectionEventRepository;
 import org.gridsuite.useradmin.server.repository.ConnectionRepository;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * @author Etienne Homer <etienne.homer at rte-france.com>
@@ -25,40 +39,103 @@ import java.util.stream.Collectors;
 @Service
 public class ConnectionsService {
     private final ConnectionRepository connectionRepository;
+    private final ConnectionEventRepository connectionEventRepository;
+    private final ConnectionMetrics connectionMetrics;
+    private final EntityManager entityManager;
 
-    public ConnectionsService(final ConnectionRepository connectionRepository) {
+    public ConnectionsService(final ConnectionRepository connectionRepository,
+                              final ConnectionEventRepository connectionEventRepository,
+                              final ConnectionMetrics connectionMetrics,
+                              final EntityManager entityManager) {
         this.connectionRepository = Objects.requireNonNull(connectionRepository);
+        this.connectionEventRepository = Objects.requireNonNull(connectionEventRepository);
+        this.connectionMetrics = Objects.requireNonNull(connectionMetrics);
+        this.entityManager = Objects.requireNonNull(entityManager);
     }
 
     @Transactional
     public void recordConnectionAttempt(String sub, boolean isConnectionAccepted) {
-        ConnectionEntity connectionEntity = connectionRepository.findBySub(sub).stream().findFirst().orElse(null);
-        if (connectionEntity == null) {
-            //To avoid consistency issue, we truncate the time to microseconds since postgres and h2 can only store a precision of microseconds
-            connectionEntity = new ConnectionEntity(sub, LocalDateTime.now().truncatedTo(ChronoUnit.MICROS),
-                                                    LocalDateTime.now().truncatedTo(ChronoUnit.MICROS), isConnectionAccepted);
-        } else {
-            connectionEntity.setLastConnexionDate(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
-            connectionEntity.setConnectionAccepted(isConnectionAccepted);
-        }
-        connectionRepository.save(connectionEntity);
+        //To avoid consistency issue, we truncate the time to microseconds since postgres and h2 can only store a precision of microseconds
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS);
+        ConnectionAttempt attempt = ConnectionAttempt.of(sub, now, isConnectionAccepted);
+        connectionMetrics.dbTimer().record(() -> {
+            connectionRepository.upsert(attempt);
+            connectionEventRepository.insertAll(toEvents(attempt));
+        });
     }
 
+    /**
+     * Records attempts already coalesced by sub, in a single transaction.
+     * The attempts of each sub are kept as one connection event per outcome, with their number.
+     */
     @Transactional
-    public List<UserConnection> removeDuplicates() {
-        Map<String, List<ConnectionEntity>> connectionsBySub = connectionRepository.findAll().stream().collect(Collectors.groupingBy(ConnectionEntity::getSub));
-        connectionsBySub.keySet().forEach(sub ->
-            connectionsBySub.get(sub).stream().skip(1).forEach(connectionEntity -> {
-                ConnectionEntity groupedEntity = connectionsBySub.get(sub).get(0);
-                if (connectionEntity.getLastConnexionDate().isAfter(groupedEntity.getLastConnexionDate())) {
-                    groupedEntity.setLastConnexionDate(connectionEntity.getLastConnexionDate());
-                }
-                if (connectionEntity.getFirstConnexionDate().isBefore(groupedEntity.getFirstConnexionDate())) {
-                    groupedEntity.setFirstConnexionDate(connectionEntity.getFirstConnexionDate());
-                }
-                connectionRepository.delete(connectionEntity);
-            })
-        );
-        return connectionsBySub.values().stream().map(list -> list.get(0)).map(ConnectionEntity::toDto).toList();
+    public void recordConnectionAttempts(Collection<ConnectionAttempt> attempts) {
+        connectionRepository.upsertAll(attempts);
+        connectionEventRepository.insertAll(attempts.stream().flatMap(attempt -> toEvents(attempt).stream()).toList());
+    }
+
+    private static List<ConnectionEventEntity> toEvents(ConnectionAttempt attempt) {
+        List<ConnectionEventEntity> events = new ArrayList<>(2);
+        if (attempt.acceptedAttempts() > 0) {
+            events.add(new ConnectionEventEntity(attempt.sub(), attempt.lastAcceptedDate(), true, attempt.acceptedAttempts()));
+        }
+        if (attempt.refusedAttempts() > 0) {
+            events.add(new ConnectionEventEntity(attempt.sub(), attempt.lastRefusedDate(), false, attempt.refusedAttempts()));
+        }
+        return events;
+    }
+
+    /**
+     * @param cursor {@link ConnectionsPage#nextCursor()} of the previous page, {@code null} for the first page
+     */
+    @Transactional(readOnly = true)
+    public ConnectionsPage getConnectionsPage(ConnectionFilter filter, ConnectionSort sort, Sort.Direction direction,
+                                              @Nullable String cursor, int size) {
+        Object afterValue = null;
+        String afterSub = null;
+        if (cursor != null) {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            afterValue = sort == ConnectionSort.SUB ? position.value() : parseDate(position.value(), cursor);
+            afterSub = position.sub();
+        }
+        // one more connection to know if there is a next page
+        List<ConnectionEntity> connections = connectionRepository.findPage(filter, sort, direction, afterValue, afterSub, size + 1);
+        String nextCursor = null;
+        if (connections.size() > size) {
+            connections = connections.subList(0, size);
+            nextCursor = encodeCursor(sort, connections.get(size - 1));
+        }
+        return new ConnectionsPage(connections.stream().map(ConnectionEntity::toDto).toList(), nextCursor);
+    }
+
+    private static String encodeCursor(ConnectionSort sort, ConnectionEntity last) {
+        String value = switch (sort) {
+            case LAST_CONNECTION -> last.getLastConnexionDate().toString();
+            case FIRST_CONNECTION -> last.getFirstConnexionDate().toString();
+            case SUB -> last.getSub();
+        };
+        return new KeysetCursor(value, last.getSub()).encode();
+    }
+
+    private static LocalDateTime parseDate(String value, String cursor) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw UserAdminException.invalidCursor(cursor);
+        }
+    }
+
+    /**
+     * Pure read, the unique constraint on sub guaranteeing a single connection per user: passes the connections
+     * one by one to the consumer, without keeping them in the persistence context.
+     */
+    @Transactional(readOnly = true)
+    public void streamConnections(Consumer<UserConnection> consumer) {
+        try (Stream<ConnectionEntity> connections = connectionRepository.streamAllBy()) {
+            connections.forEach(connection -> {
+                consumer.accept(ConnectionEntity.toDto(connection));
+                entityManager.detach(connection);
+            });
+        }
     }
 }
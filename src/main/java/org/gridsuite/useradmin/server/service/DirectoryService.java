@@ -6,6 +6,8 @@
  */
 package org.gridsuite.useradmin.server.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.gridsuite.useradmin.server.UserAdminApplicationProps;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -45,18 +47,26 @@ public class DirectoryService {
 
     private final RestTemplate restTemplate;
 
+    private final CircuitBreaker circuitBreaker;
+
     private static String directoryServerBaseUri;
 
     public DirectoryService(@Value("${gridsuite.services.directory-server.base-uri:http://directory-server/}") String directoryServerBaseUri,
-                            RestTemplate restTemplate) {
+                            RestTemplate restTemplate,
+                            UserAdminApplicationProps applicationProps,
+                            MeterRegistry meterRegistry) {
         setDirectoryServerBaseUri(directoryServerBaseUri);
         this.restTemplate = restTemplate;
+        this.circuitBreaker = new CircuitBreaker("directory", applicationProps.getResilience().getDirectory(), meterRegistry, System::nanoTime);
     }
 
     public static void setDirectoryServerBaseUri(String serverBaseUri) {
         DirectoryService.directoryServerBaseUri = serverBaseUri;
     }
 
+    /**
+     * @throws CircuitBreaker.CallNotPermittedException if the circuit to the directory server is open
+     */
     public Set<UUID> getExistingElements(Set<UUID> elementsUuids, String userId) {
         if (CollectionUtils.isEmpty(elementsUuids)) {
             return Set.of();
@@ -70,16 +80,20 @@ public class DirectoryService {
         headers.add("userId", userId);
         headers.setContentType(MediaType.APPLICATION_JSON);
 
-        List<ElementAttributes> existingElementList = restTemplate.exchange(directoryServerBaseUri + path, HttpMethod.GET, new HttpEntity<>(headers),
+        List<ElementAttributes> existingElementList = circuitBreaker.call(() -> restTemplate.exchange(directoryServerBaseUri + path, HttpMethod.GET, new HttpEntity<>(headers),
                 new ParameterizedTypeReference<List<ElementAttributes>>() {
-                }).getBody();
+                }).getBody());
         return existingElementList == null ? Set.of() : existingElementList.stream().map(ElementAttributes::getElementUuid).collect(Collectors.toSet());
     }
 
     public Integer getCasesCount(String userId) {
         String path = UriComponentsBuilder.fromPath(USER_SERVER_ROOT_PATH + "/{userId}/cases/count").buildAndExpand(userId).toUriString();
         try {
-            return restTemplate.getForObject(directoryServerBaseUri + path, Integer.class);
+            return circuitBreaker.call(() -> restTemplate.getForObject(directoryServerBaseUri + path, Integer.class));
+        } catch (CircuitBreaker.CallNotPermittedException e) {
+            // the outage is already recorded by the circuit transitions
+            LOGGER.debug("Cases count of user {} not retrieved: {}", userId, e.getMessage());
+            return null;
         } catch (Exception e) {
             LOGGER.warn("Failed to retrieve cases count for user {}", userId);
             return null;
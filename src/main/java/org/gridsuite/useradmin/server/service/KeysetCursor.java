@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.service;
+
+import org.gridsuite.useradmin.server.error.UserAdminException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+/**
+ * Opaque position of a keyset pagination: the sort value and the sub of the last element of a page.
+ */
+record KeysetCursor(String value, String sub) {
+    private static final String SEPARATOR = ".";
+
+    String encode() {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(value.getBytes(StandardCharsets.UTF_8)) + SEPARATOR
+            + encoder.encodeToString(sub.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static KeysetCursor decode(String cursor) {
+        String[] parts = cursor.split(Pattern.quote(SEPARATOR), -1);
+        if (parts.length != 2) {
+            throw UserAdminException.invalidCursor(cursor);
+        }
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            return new KeysetCursor(new String(decoder.decode(parts[0]), StandardCharsets.UTF_8),
+                new String(decoder.decode(parts[1]), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw UserAdminException.invalidCursor(cursor);
+        }
+    }
+}
@@ -15,6 +15,8 @@ import org.springframework.messaging.Message;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 /**
  * @author Abdelsalem Hedhili <abdelsalem.hedhili at rte-france.com
  */
@@ -23,19 +25,24 @@ import org.springframework.stereotype.Service;
 public class NotificationService {
     public static final String MESSAGE_TYPE_ANNOUNCEMENT = "announcement";
     public static final String MESSAGE_TYPE_CANCEL_ANNOUNCEMENT = "cancelAnnouncement";
+    public static final String MESSAGE_TYPE_CACHE_INVALIDATION = "cacheInvalidation";
 
     public static final String HEADER_MESSAGE_TYPE = "messageType";
     public static final String HEADER_DURATION = "duration";
     public static final String HEADER_ANNOUNCEMENT_ID = "announcementId";
     public static final String HEADER_SEVERITY = "severity";
+    public static final String HEADER_CACHE_NAME = "cacheName";
+    public static final String HEADER_ORIGIN = "origin";
+    public static final String HEADER_EMITTED_AT = "emittedAt";
 
     public static final String GLOBAL_CONFIG_BINDING = "publishMessage-out-0";
+    public static final String CACHE_INVALIDATION_BINDING = "publishCacheInvalidation-out-0";
     private static final String CATEGORY_BROKER_OUTPUT = UserAdminService.class.getName() + ".output-broker-messages";
     private static final Logger MESSAGE_OUTPUT_LOGGER = LoggerFactory.getLogger(CATEGORY_BROKER_OUTPUT);
 
     private final StreamBridge updatePublisher;
 
-    private void sendMessage(Message<String> message, String bindingName) {
+    private void sendMessage(Message<?> message, String bindingName) {
         MESSAGE_OUTPUT_LOGGER.debug("Sending message: {}", message);
         updatePublisher.send(bindingName, message);
     }
@@ -54,4 +61,18 @@ public class NotificationService {
             .setHeader(HEADER_MESSAGE_TYPE, MESSAGE_TYPE_CANCEL_ANNOUNCEMENT)
             .build(), GLOBAL_CONFIG_BINDING);
     }
+
+    /**
+     * Notifies all the replicas, including this one, that some entries of a local cache are stale.
+     *
+     * @param origin identifier of the emitting replica
+     */
+    public void emitCacheInvalidationMessage(String cacheName, List<String> keys, String origin) {
+        sendMessage(MessageBuilder.withPayload(keys)
+            .setHeader(HEADER_MESSAGE_TYPE, MESSAGE_TYPE_CACHE_INVALIDATION)
+            .setHeader(HEADER_CACHE_NAME, cacheName)
+            .setHeader(HEADER_ORIGIN, origin)
+            .setHeader(HEADER_EMITTED_AT, System.currentTimeMillis())
+            .build(), CACHE_INVALIDATION_BINDING);
+    }
 }
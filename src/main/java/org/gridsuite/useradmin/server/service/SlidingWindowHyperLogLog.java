@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free HyperLogLog estimating the number of distinct values added during the last minutes.
+ * <p>
+ * The window is made of one sketch per minute, reset when its slot is reused, and merged on estimation.
+ * With 4096 registers the standard error is about 1.6%. A value added concurrently with the reset of
+ * its minute may be lost: the estimate is only approximate anyway.
+ */
+class SlidingWindowHyperLogLog {
+    private static final int PRECISION = 12;
+    private static final int REGISTERS = 1 << PRECISION;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    private final MinuteSketch[] sketches;
+    private final LongSupplier clock;
+
+    /**
+     * @param window rounded to the minute
+     * @param clock current time in milliseconds
+     */
+    SlidingWindowHyperLogLog(Duration window, LongSupplier clock) {
+        this.sketches = new MinuteSketch[(int) Math.max(1, window.toMinutes())];
+        for (int i = 0; i < sketches.length; i++) {
+            sketches[i] = new MinuteSketch();
+        }
+        this.clock = clock;
+    }
+
+    void add(String value) {
+        long minute = currentMinute();
+        MinuteSketch sketch = sketches[(int) Math.floorMod(minute, sketches.length)];
+        long sketchMinute = sketch.minute.get();
+        if (sketchMinute < minute && sketch.minute.compareAndSet(sketchMinute, minute)) {
+            sketch.clear();
+        }
+        long hash = hash(value);
+        int index = (int) (hash >>> (Long.SIZE - PRECISION));
+        // leading zeros of the remaining bits, bounded by the sentinel bit
+        int rank = Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+        int current;
+        while ((current = sketch.registers.get(index)) < rank && !sketch.registers.compareAndSet(index, current, rank)) {
+            // lost a race with another update of the register: retry with its value
+        }
+    }
+
+    long estimate() {
+        long minute = currentMinute();
+        List<AtomicIntegerArray> live = new ArrayList<>(sketches.length);
+        for (MinuteSketch sketch : sketches) {
+            if (minute - sketch.minute.get() < sketches.length) {
+                live.add(sketch.registers);
+            }
+        }
+        double sum = 0;
+        int zeros = 0;
+        for (int i = 0; i < REGISTERS; i++) {
+            int rank = 0;
+            for (AtomicIntegerArray registers : live) {
+                rank = Math.max(rank, registers.get(i));
+            }
+            sum += 1.0 / (1L << rank);
+            if (rank == 0) {
+                zeros++;
+            }
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            // small range correction: linear counting
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    private long currentMinute() {
+        return Math.floorDiv(clock.getAsLong(), 60_000L);
+    }
+
+    /**
+     * 64-bit FNV-1a followed by the SplitMix64 finalizer to spread the bits.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+
+    private static final class MinuteSketch {
+        private final AtomicLong minute = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicIntegerArray registers = new AtomicIntegerArray(REGISTERS);
+
+        private void clear() {
+            for (int i = 0; i < REGISTERS; i++) {
+                registers.set(i, 0);
+            }
+        }
+    }
+}
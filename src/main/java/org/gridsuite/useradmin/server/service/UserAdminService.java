@@ -6,36 +6,71 @@
  */
 package org.gridsuite.useradmin.server.service;
 
+import jakarta.annotation.Nullable;
 import org.gridsuite.useradmin.server.UserAdminApplicationProps;
+import org.gridsuite.useradmin.server.configuration.ExecutorConfig;
+import org.gridsuite.useradmin.server.dto.ConnectionFilter;
+import org.gridsuite.useradmin.server.dto.ConnectionSort;
+import org.gridsuite.useradmin.server.dto.ConnectionsPage;
+import org.gridsuite.useradmin.server.dto.DailyConnectionStats;
 import org.gridsuite.useradmin.server.dto.UserConnection;
+import org.gridsuite.useradmin.server.dto.UserFilter;
 import org.gridsuite.useradmin.server.dto.UserGroup;
 import org.gridsuite.useradmin.server.dto.UserIdentity;
 import org.gridsuite.useradmin.server.dto.UserInfos;
 import org.gridsuite.useradmin.server.dto.UserProfile;
+import org.gridsuite.useradmin.server.dto.UserQuota;
+import org.gridsuite.useradmin.server.dto.UserQuotaSnapshot;
+import org.gridsuite.useradmin.server.dto.UserSort;
+import org.gridsuite.useradmin.server.dto.UserSummary;
+import org.gridsuite.useradmin.server.dto.UsersPage;
+import org.gridsuite.useradmin.server.dto.VersionedUserProfile;
+import org.gridsuite.useradmin.server.entity.GroupInfosEntity;
 import org.gridsuite.useradmin.server.entity.UserInfosEntity;
 import org.gridsuite.useradmin.server.entity.UserProfileEntity;
 import org.gridsuite.useradmin.server.error.UserAdminException;
 import org.gridsuite.useradmin.server.repository.UserGroupRepository;
 import org.gridsuite.useradmin.server.repository.UserInfosRepository;
 import org.gridsuite.useradmin.server.repository.UserProfileRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * @author Etienne Homer <etienne.homer at rte-france.com>
  */
 @Service
 public class UserAdminService {
+    /**
+     * Number of users enriched with their identity in a single call when streamed.
+     */
+    private static final int USERS_STREAM_CHUNK_SIZE = 500;
+
     private final UserInfosRepository userInfosRepository;
     private final UserProfileRepository userProfileRepository;
     private final ConnectionsService connectionsService;
+    private final ConnectionAttemptBuffer connectionAttemptBuffer;
+    private final ConnectionStatsService connectionStatsService;
+    private final ConnectionMetrics connectionMetrics;
     private final AdminRightService adminRightService;
     private final UserProfileService userProfileService;
     private final UserGroupService userGroupService;
     private final UserIdentityService userIdentityService;
+    private final UserProfileCache userProfileCache;
+    private final UserSearchIndex userSearchIndex;
+    private final DirectoryService directoryService;
+    private final ExecutorService outboundCallsExecutor;
 
     private final UserAdminApplicationProps applicationProps;
     private final UserGroupRepository userGroupRepository;
@@ -43,19 +78,33 @@ public class UserAdminService {
     public UserAdminService(final UserInfosRepository userInfosRepository,
                             final UserProfileRepository userProfileRepository,
                             final ConnectionsService connectionsService,
+                            final ConnectionAttemptBuffer connectionAttemptBuffer,
+                            final ConnectionStatsService connectionStatsService,
+                            final ConnectionMetrics connectionMetrics,
                             final AdminRightService adminRightService,
                             final UserProfileService userProfileService,
                             final UserGroupService userGroupService,
                             final UserIdentityService userIdentityService,
+                            final UserProfileCache userProfileCache,
+                            final UserSearchIndex userSearchIndex,
+                            final DirectoryService directoryService,
+                            @Qualifier(ExecutorConfig.OUTBOUND_CALLS_EXECUTOR) final ExecutorService outboundCallsExecutor,
                             final UserAdminApplicationProps applicationProps,
                             final UserGroupRepository userGroupRepository) {
         this.userInfosRepository = Objects.requireNonNull(userInfosRepository);
         this.userProfileRepository = Objects.requireNonNull(userProfileRepository);
         this.connectionsService = Objects.requireNonNull(connectionsService);
+        this.connectionAttemptBuffer = Objects.requireNonNull(connectionAttemptBuffer);
+        this.connectionStatsService = Objects.requireNonNull(connectionStatsService);
+        this.connectionMetrics = Objects.requireNonNull(connectionMetrics);
         this.adminRightService = Objects.requireNonNull(adminRightService);
         this.userProfileService = Objects.requireNonNull(userProfileService);
         this.userGroupService = Objects.requireNonNull(userGroupService);
         this.userIdentityService = Objects.requireNonNull(userIdentityService);
+        this.userProfileCache = Objects.requireNonNull(userProfileCache);
+        this.userSearchIndex = Objects.requireNonNull(userSearchIndex);
+        this.directoryService = Objects.requireNonNull(directoryService);
+        this.outboundCallsExecutor = Objects.requireNonNull(outboundCallsExecutor);
         this.applicationProps = Objects.requireNonNull(applicationProps);
         this.userGroupRepository = userGroupRepository;
     }
@@ -67,17 +116,98 @@ public class UserAdminService {
     @Transactional(readOnly = true)
     public List<UserInfos> getUsers() {
         adminRightService.assertIsAdmin();
-        List<UserInfosEntity> entities = userInfosRepository.findAll();
+        List<UserInfosEntity> entities = userInfosRepository.findAllWithProfileAndGroups();
         List<UserInfos> users = entities.stream().map(this::toDtoUserInfo).toList();
 
         // Enrich with identity information (firstName, lastName)
         return enrichWithIdentities(users);
     }
 
+    /**
+     * Only the users of the page are loaded, with their profile and groups, and enriched with their identity.
+     *
+     * @param cursor {@link UsersPage#nextCursor()} of the previous page, {@code null} for the first page
+     */
+    @Transactional(readOnly = true)
+    public UsersPage getUsersPage(UserFilter filter, UserSort sort, Sort.Direction direction, @Nullable String cursor, int size) {
+        adminRightService.assertIsAdmin();
+        KeysetCursor position = cursor == null ? null : KeysetCursor.decode(cursor);
+        // one more user to know if there is a next page
+        List<UUID> ids = userInfosRepository.findPageIds(filter, sort, direction,
+            position == null ? null : position.value(), position == null ? null : position.sub(), size + 1);
+        boolean hasNext = ids.size() > size;
+        if (hasNext) {
+            ids = ids.subList(0, size);
+        }
+        Map<UUID, UserInfosEntity> entities = userInfosRepository.findAllByIdIn(ids).stream()
+            .collect(Collectors.toMap(UserInfosEntity::getId, Function.identity()));
+        // in the order of the page, without the users deleted in the meantime
+        List<UserInfosEntity> page = ids.stream().map(entities::get).filter(Objects::nonNull).toList();
+        String nextCursor = hasNext && !page.isEmpty() ? encodeCursor(sort, page.get(page.size() - 1)) : null;
+        return new UsersPage(enrichWithIdentities(page.stream().map(this::toDtoUserInfo).toList()), nextCursor);
+    }
+
+    /**
+     * For the streamed listings, whose writing doesn't run on the request thread.
+     */
+    public void assertIsAdmin() {
+        adminRightService.assertIsAdmin();
+    }
+
+    /**
+     * Passes all the users to the consumer, by chunks loaded with their groups and enriched with their
+     * identity, so that only one chunk is held in memory at once.
+     * The rights must be checked beforehand with {@link #assertIsAdmin()}.
+     */
     @Transactional(readOnly = true)
-    public List<UserConnection> getConnections() {
+    public void streamUsers(Consumer<UserInfos> consumer) {
+        try (Stream<UserSummary> users = userInfosRepository.streamSummaries()) {
+            Iterator<UserSummary> iterator = users.iterator();
+            List<UserSummary> chunk = new ArrayList<>(USERS_STREAM_CHUNK_SIZE);
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == USERS_STREAM_CHUNK_SIZE || !iterator.hasNext()) {
+                    streamUsersChunk(chunk, consumer);
+                    chunk.clear();
+                }
+            }
+        }
+    }
+
+    private void streamUsersChunk(List<UserSummary> chunk, Consumer<UserInfos> consumer) {
+        Map<UUID, Set<String>> groupNames = new HashMap<>();
+        userGroupRepository.findUserIdAndGroupNameByUserIdIn(chunk.stream().map(UserSummary::id).toList())
+            .forEach(row -> groupNames.computeIfAbsent((UUID) row[0], id -> new HashSet<>()).add((String) row[1]));
+        List<UserInfos> users = chunk.stream()
+            .map(user -> new UserInfos(user.sub(), null, null, user.profileName(), null, null, null,
+                groupNames.getOrDefault(user.id(), Set.of())))
+            .toList();
+        enrichWithIdentities(users).forEach(consumer);
+    }
+
+    /**
+     * The rights must be checked beforehand with {@link #assertIsAdmin()}.
+     */
+    public void streamConnections(Consumer<UserConnection> consumer) {
+        connectionsService.streamConnections(consumer);
+    }
+
+    private static String encodeCursor(UserSort sort, UserInfosEntity last) {
+        String value = switch (sort) {
+            case SUB -> last.getSub();
+            case PROFILE -> last.getProfile() == null ? "" : last.getProfile().getName();
+        };
+        return new KeysetCursor(value, last.getSub()).encode();
+    }
+
+    public ConnectionsPage getConnectionsPage(ConnectionFilter filter, ConnectionSort sort, Sort.Direction direction, String cursor, int size) {
+        adminRightService.assertIsAdmin();
+        return connectionsService.getConnectionsPage(filter, sort, direction, cursor, size);
+    }
+
+    public List<DailyConnectionStats> getDailyConnectionStats(LocalDate from, LocalDate to) {
         adminRightService.assertIsAdmin();
-        return connectionsService.removeDuplicates();
+        return connectionStatsService.getDailyStats(from, to);
     }
 
     @Transactional
@@ -87,6 +217,15 @@ public class UserAdminService {
             throw UserAdminException.userAlreadyExists(sub);
         }
         userInfosRepository.save(new UserInfosEntity(sub));
+        userSearchIndex.onUserCreated(sub);
+    }
+
+    /**
+     * @return the users whose sub, first name or last name contains the query, the best matches first
+     */
+    public List<UserIdentity> searchUsers(String query, int limit) {
+        adminRightService.assertIsAdmin();
+        return userSearchIndex.search(query, limit);
     }
 
     private static void removeUserFromGroups(UserInfosEntity entity) {
@@ -100,17 +239,34 @@ public class UserAdminService {
         adminRightService.assertIsAdmin();
         UserInfosEntity userInfosEntity = userInfosRepository.findBySub(sub).orElseThrow(() -> UserAdminException.userNotFound(sub));
         removeUserFromGroups(userInfosEntity);
+        userProfileCache.evict(sub);
+        userSearchIndex.onUsersDeleted(List.of(sub));
         return userInfosRepository.deleteBySub(sub);
     }
 
+    /**
+     * Set-based: one query checks that all the users exist, then their group memberships and the users
+     * are deleted with one statement each, without loading them.
+     *
+     * @throws UserAdminException listing all the missing users, nothing is deleted then
+     */
     @Transactional
     public long delete(Collection<String> subs) {
         adminRightService.assertIsAdmin();
-        subs.forEach(sub -> {
-            UserInfosEntity userInfosEntity = userInfosRepository.findBySub(sub).orElseThrow(() -> UserAdminException.userNotFound(sub));
-            removeUserFromGroups(userInfosEntity);
+        Set<String> distinctSubs = new HashSet<>(subs);
+        Set<String> missingSubs = new HashSet<>(distinctSubs);
+        List<UUID> ids = new ArrayList<>(distinctSubs.size());
+        userInfosRepository.findIdAndSubBySubIn(distinctSubs).forEach(row -> {
+            ids.add((UUID) row[0]);
+            missingSubs.remove((String) row[1]);
         });
-        return userInfosRepository.deleteAllBySubIn(subs);
+        if (!missingSubs.isEmpty()) {
+            throw UserAdminException.usersNotFound(missingSubs);
+        }
+        userGroupRepository.deleteMembershipsByUserIdIn(ids);
+        userProfileCache.evict(distinctSubs);
+        userSearchIndex.onUsersDeleted(distinctSubs);
+        return userInfosRepository.deleteAllByIdIn(ids);
     }
 
     @Transactional()
@@ -118,34 +274,46 @@ public class UserAdminService {
         adminRightService.assertIsAdmin();
         UserInfosEntity user = userInfosRepository.findBySub(sub).orElseThrow(() -> UserAdminException.userNotFound(sub));
         Optional<UserProfileEntity> profile = userProfileRepository.findByName(userInfos.profileName());
+        userProfileCache.evict(sub, userInfos.sub());
+        userSearchIndex.onUserRenamed(sub, userInfos.sub());
         user.setSub(userInfos.sub());
         user.setProfile(profile.orElse(null));
+        updateUserGroups(user, userInfos.groups() == null ? Set.of() : userInfos.groups());
+    }
 
-        // remove user from all of his existing groups
-        removeUserFromGroups(user);
-
-        // set all new groups for user
-        user.setGroups(userInfos.groups() == null ?
-            null :
-            userInfos.groups().stream().map(userGroupRepository::findByName)
-                .filter(Optional::isPresent)
-                .map(Optional::get).collect(Collectors.toSet()));
-
-        // add user to all groups
-        if (user.getGroups() != null) {
-            user.getGroups().forEach(group -> {
-                Set<UserInfosEntity> users = group.getUsers();
-                if (users == null) {
-                    users = new HashSet<>();
-                }
-                users.add(user);
-            });
+    /**
+     * Only the memberships to remove or to add are written, in the join table: the user must not be used afterward.
+     * The unknown groups are ignored.
+     */
+    private void updateUserGroups(UserInfosEntity user, Set<String> groupNames) {
+        Set<GroupInfosEntity> currentGroups = user.getGroups() == null ? Set.of() : user.getGroups();
+        List<UUID> removedGroupIds = currentGroups.stream()
+            .filter(group -> !groupNames.contains(group.getName()))
+            .map(GroupInfosEntity::getId)
+            .toList();
+        Set<String> currentGroupNames = currentGroups.stream().map(GroupInfosEntity::getName).collect(Collectors.toSet());
+        List<String> addedGroupNames = groupNames.stream().filter(name -> !currentGroupNames.contains(name)).toList();
+        List<UUID> addedGroupIds = addedGroupNames.isEmpty() ? List.of() : userGroupRepository.findByNameIn(addedGroupNames).stream()
+            .map(GroupInfosEntity::getId)
+            .toList();
+
+        if (!removedGroupIds.isEmpty()) {
+            userGroupRepository.deleteMembershipsByUserIdAndGroupIdIn(user.getId(), removedGroupIds);
         }
+        userGroupRepository.insertUserMemberships(user.getId(), addedGroupIds);
     }
 
-    @Transactional
+    /**
+     * Not transactional: a buffered attempt doesn't need any database connection.
+     */
     public void recordConnectionAttempt(String sub, boolean isConnectionAccepted) {
-        connectionsService.recordConnectionAttempt(sub, isConnectionAccepted);
+        connectionMetrics.countAttempt(sub, isConnectionAccepted);
+        long start = System.nanoTime();
+        boolean buffered = connectionAttemptBuffer.offer(sub, isConnectionAccepted);
+        if (!buffered) {
+            connectionsService.recordConnectionAttempt(sub, isConnectionAccepted);
+        }
+        connectionMetrics.recordTimer(buffered).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
     }
 
     @Transactional(readOnly = true)
@@ -156,27 +324,24 @@ public class UserAdminService {
                 .map(this::enrichWithIdentity);
     }
 
-    @Transactional(readOnly = true)
     public UserProfile getUserProfile(String sub) {
-        return doGetUserProfile(sub);
+        return getVersionedUserProfile(sub).profile();
     }
 
-    private UserProfile doGetUserProfile(String sub) {
-        // this method is not restricted to Admin because it is called by any user to retrieve its own profile
-        Optional<UserInfosEntity> userOpt = userInfosRepository.findBySub(sub);
-
-        if (userOpt.isEmpty()) {
-            return createDefaultProfile();
-        }
-
-        UserInfosEntity user = userOpt.get();
-
-        if (user.getProfile() == null) {
-            return createDefaultProfile();
-        }
+    /**
+     * Not transactional: served from {@link UserProfileCache} when possible, the repositories open their own
+     * read-only transactions on a cache miss.
+     */
+    public VersionedUserProfile getVersionedUserProfile(String sub) {
+        return userProfileCache.get(sub, this::doGetUserProfile);
+    }
 
-        return userProfileService.getProfile(user.getProfile().getId())
-                .orElseGet(this::createDefaultProfile);
+    private VersionedUserProfile doGetUserProfile(String sub) {
+        // this method is not restricted to Admin because it is called by any user to retrieve its own profile
+        // a single statement reads the profile content and version together, without loading the user
+        return userInfosRepository.findProfileBySub(sub)
+                .map(profile -> VersionedUserProfile.of(userProfileService.toDto(profile), profile.getId(), profile.getVersion()))
+                .orElseGet(() -> VersionedUserProfile.ofDefault(createDefaultProfile()));
     }
 
     @Transactional(readOnly = true)
@@ -201,22 +366,57 @@ public class UserAdminService {
                 .toList();
     }
 
-    @Transactional(readOnly = true)
     public Integer getUserProfileMaxAllowedCases(String sub) {
-        UserProfile profile = doGetUserProfile(sub);
-        return Optional.ofNullable(profile.maxAllowedCases())
-                .orElse(applicationProps.getDefaultMaxAllowedCases());
+        return getUserQuota(sub).maxAllowedCases();
     }
 
     public Integer getCasesAlertThreshold() {
         return Optional.ofNullable(applicationProps.getCasesAlertThreshold()).orElse(90);
     }
 
-    @Transactional(readOnly = true)
     public Integer getUserProfileMaxAllowedBuilds(String sub) {
-        UserProfile profile = doGetUserProfile(sub);
-        return Optional.ofNullable(profile.maxAllowedBuilds())
-                .orElse(applicationProps.getDefaultMaxAllowedBuilds());
+        return getUserQuota(sub).maxAllowedBuilds();
+    }
+
+    /**
+     * Effective quotas of several users, read with a single query.
+     * Unknown users get the quotas of the default profile.
+     */
+    public List<UserQuota> getUsersQuotas(Collection<String> subs) {
+        Map<String, UserQuota> quotasBySub = userInfosRepository.findQuotasBySubIn(subs).stream()
+                .collect(Collectors.toMap(UserQuota::sub, Function.identity()));
+        UserProfile defaultProfile = createDefaultProfile();
+        return subs.stream()
+                .distinct()
+                .map(sub -> Optional.ofNullable(quotasBySub.get(sub))
+                        .map(quota -> quota.withDefaults(defaultProfile.maxAllowedCases(), defaultProfile.maxAllowedBuilds()))
+                        .orElseGet(() -> new UserQuota(sub, defaultProfile.name(), defaultProfile.maxAllowedCases(), defaultProfile.maxAllowedBuilds())))
+                .toList();
+    }
+
+    /**
+     * Quotas of a user with its cases usage and the alert threshold, in a single call.
+     * The cases count is fetched from directory-server while the quotas are read.
+     */
+    public UserQuotaSnapshot getUserQuotaSnapshot(String sub) {
+        CompletableFuture<Integer> casesUsed = CompletableFuture.supplyAsync(() -> directoryService.getCasesCount(sub), outboundCallsExecutor);
+        UserQuota quota = getUserQuota(sub);
+        return UserQuotaSnapshot.of(quota, casesUsed.join(), getCasesAlertThreshold());
+    }
+
+    /**
+     * Effective quotas of a user: taken from {@link UserProfileCache}, which loads the profile with a single
+     * statement on a miss, else read with a single projection query when the cache is disabled.
+     */
+    private UserQuota getUserQuota(String sub) {
+        UserQuota quota;
+        if (userProfileCache.isEnabled()) {
+            UserProfile profile = getUserProfile(sub);
+            quota = new UserQuota(sub, profile.name(), profile.maxAllowedCases(), profile.maxAllowedBuilds());
+        } else {
+            quota = userInfosRepository.findQuotaBySub(sub).orElseGet(() -> new UserQuota(sub, null, null, null));
+        }
+        return quota.withDefaults(applicationProps.getDefaultMaxAllowedCases(), applicationProps.getDefaultMaxAllowedBuilds());
     }
 
     private UserProfile createDefaultProfile() {
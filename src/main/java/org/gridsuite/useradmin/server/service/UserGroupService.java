@@ -65,27 +65,74 @@ public class UserGroupService {
             .orElseThrow(() -> UserAdminException.groupNotFound(groupUuid));
         group.setName(userGroup.name());
 
-        // remove group from all of his existing users
-        if (group.getUsers() != null) {
-            group.getUsers().forEach(user -> user.getGroups().removeIf(group2 -> group2.getName().equals(userGroup.name())));
+        // only the memberships to remove or to add are written, the unknown users are ignored
+        Set<String> subs = userGroup.users() == null ? Set.of() : userGroup.users();
+        Set<String> currentSubs = new HashSet<>();
+        List<UUID> removedUserIds = new ArrayList<>();
+        userGroupRepository.findMemberIdAndSubByGroupId(groupUuid).forEach(row -> {
+            if (subs.contains((String) row[1])) {
+                currentSubs.add((String) row[1]);
+            } else {
+                removedUserIds.add((UUID) row[0]);
+            }
+        });
+        List<String> addedSubs = subs.stream().filter(sub -> !currentSubs.contains(sub)).toList();
+        List<UUID> addedUserIds = addedSubs.isEmpty() ? List.of() : userInfosRepository.findIdAndSubBySubIn(addedSubs).stream()
+            .map(row -> (UUID) row[0])
+            .toList();
+
+        if (!removedUserIds.isEmpty()) {
+            userGroupRepository.deleteMembershipsByGroupIdAndUserIdIn(groupUuid, removedUserIds);
+        }
+        userGroupRepository.insertMemberships(groupUuid, addedUserIds);
+    }
+
+    /**
+     * Only the missing memberships are inserted, the subs are resolved with a single query.
+     * A member added concurrently is ignored as the current ones.
+     *
+     * @return the number of users added to the group
+     * @throws UserAdminException listing all the missing users, nothing is added then
+     */
+    @Transactional
+    public int addMembers(UUID groupUuid, Collection<String> subs) {
+        adminRightService.assertIsAdmin();
+        assertGroupExists(groupUuid);
+        Set<String> missingSubs = new HashSet<>(subs);
+        Set<UUID> userIds = new HashSet<>();
+        userInfosRepository.findIdAndSubBySubIn(missingSubs).forEach(row -> {
+            userIds.add((UUID) row[0]);
+            missingSubs.remove((String) row[1]);
+        });
+        if (!missingSubs.isEmpty()) {
+            throw UserAdminException.usersNotFound(missingSubs);
+        }
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        userGroupRepository.findMemberIdsByGroupIdAndUserIdIn(groupUuid, userIds).forEach(userIds::remove);
+        return userGroupRepository.insertMemberships(groupUuid, userIds);
+    }
+
+    /**
+     * The unknown users and the users which aren't members are ignored.
+     *
+     * @return the number of users removed from the group
+     */
+    @Transactional
+    public int removeMembers(UUID groupUuid, Collection<String> subs) {
+        adminRightService.assertIsAdmin();
+        assertGroupExists(groupUuid);
+        if (subs.isEmpty()) {
+            return 0;
         }
+        List<UUID> userIds = userInfosRepository.findIdAndSubBySubIn(subs).stream().map(row -> (UUID) row[0]).toList();
+        return userIds.isEmpty() ? 0 : userGroupRepository.deleteMembershipsByGroupIdAndUserIdIn(groupUuid, userIds);
+    }
 
-        // set all new users for group
-        group.setUsers(userGroup.users() == null ?
-            null :
-            userGroup.users().stream().map(userInfosRepository::findBySub)
-                .filter(Optional::isPresent)
-                .map(Optional::get).collect(Collectors.toSet()));
-
-        // add group to all users
-        if (group.getUsers() != null) {
-            group.getUsers().forEach(user -> {
-                Set<GroupInfosEntity> groups = user.getGroups();
-                if (groups == null) {
-                    groups = new HashSet<>();
-                }
-                groups.add(group);
-            });
+    private void assertGroupExists(UUID groupUuid) {
+        if (!userGroupRepository.existsById(groupUuid)) {
+            throw UserAdminException.groupNotFound(groupUuid);
         }
     }
 
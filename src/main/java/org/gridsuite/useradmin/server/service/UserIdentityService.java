@@ -6,25 +6,56 @@
  */
 package org.gridsuite.useradmin.server.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.gridsuite.useradmin.server.UserAdminApplicationProps;
+import org.gridsuite.useradmin.server.configuration.ExecutorConfig;
 import org.gridsuite.useradmin.server.dto.UserIdentitiesResult;
 import org.gridsuite.useradmin.server.dto.UserIdentity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
 
 /**
  * Service for fetching user identity information (firstName, lastName) from user-identity-server.
- * All operations fail silently to ensure that identity enrichment doesn't break core functionality.
+ * All operations fail silently to ensure that identity enrichment doesn't break core functionality,
+ * and fail fast while the circuit to the server is open.
+ * <p>
+ * When {@code useradmin.cache.user-identity.enabled}, the identities are cached: an entry older than its
+ * time to live is still served while it is refreshed in the background, and kept until its maximum
+ * staleness if the server can't be reached. The subs reported in error by the server are cached too,
+ * with their own time to live.
  *
  * @author Achour Berrahma {@literal <achour.berrahma at rte-france.com>}
  */
@@ -36,14 +67,84 @@ public class UserIdentityService {
     private static final String DELIMITER = "/";
     private static final String IDENTITIES_PATH = DELIMITER + USER_IDENTITY_API_VERSION + "/users/identities";
 
+    public static final String CACHE_NAME = "userIdentities";
+    public static final String STALE_HITS_METER = "useradmin.cache.stale.hits";
+    public static final String REFRESHES_METER = "useradmin.cache.refreshes";
+
     private final RestTemplate restTemplate;
     private final String userIdentityServerBaseUri;
+    private final ExecutorService outboundCallsExecutor;
+    private final int chunkSize;
+    private final Semaphore concurrentCalls;
+    private final AtomicBoolean postBatchSupported;
+    private final CircuitBreaker circuitBreaker;
+
+    private final Cache<String, CachedIdentity> cache;
+    private final Ticker ticker;
+    private final long timeToLiveNanos;
+    private final long negativeTimeToLiveNanos;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final List<BiConsumer<String, UserIdentity>> identityListeners = new CopyOnWriteArrayList<>();
+    private final Counter staleHitsCounter;
+    private final Counter refreshesCounter;
+
+    /**
+     * @param identity {@code null} for a sub reported in error by the server
+     * @param writtenAt {@link Ticker#read()} when fetched
+     */
+    private record CachedIdentity(UserIdentity identity, long writtenAt) { }
 
+    @Autowired
     public UserIdentityService(
             RestTemplate restTemplate,
-            @Value("${gridsuite.services.user-identity-server.base-uri:http://user-identity-server/}") String userIdentityServerBaseUri) {
+            @Value("${gridsuite.services.user-identity-server.base-uri:http://user-identity-server/}") String userIdentityServerBaseUri,
+            UserAdminApplicationProps applicationProps,
+            @Qualifier(ExecutorConfig.OUTBOUND_CALLS_EXECUTOR) ExecutorService outboundCallsExecutor,
+            MeterRegistry meterRegistry) {
+        this(restTemplate, userIdentityServerBaseUri, applicationProps, outboundCallsExecutor, meterRegistry, Ticker.systemTicker());
+    }
+
+    UserIdentityService(RestTemplate restTemplate, String userIdentityServerBaseUri, UserAdminApplicationProps applicationProps,
+                        ExecutorService outboundCallsExecutor, MeterRegistry meterRegistry, Ticker ticker) {
         this.restTemplate = restTemplate;
         this.userIdentityServerBaseUri = userIdentityServerBaseUri;
+        this.outboundCallsExecutor = Objects.requireNonNull(outboundCallsExecutor);
+        UserAdminApplicationProps.Identity config = applicationProps.getIdentity();
+        this.chunkSize = config.getChunkSize();
+        this.concurrentCalls = new Semaphore(config.getMaxConcurrentCalls());
+        this.postBatchSupported = new AtomicBoolean(config.isPostBatch());
+        this.circuitBreaker = new CircuitBreaker("identity", applicationProps.getResilience().getIdentity(), meterRegistry, ticker::read);
+
+        UserAdminApplicationProps.IdentityCacheSpec spec = applicationProps.getCache().getUserIdentity();
+        this.ticker = ticker;
+        this.timeToLiveNanos = spec.getTimeToLive().toNanos();
+        this.negativeTimeToLiveNanos = spec.getNegativeTimeToLive().toNanos();
+        if (spec.isEnabled()) {
+            this.cache = Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfterWrite(spec.getTimeToLive().plus(spec.getMaxStaleness()))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
+        } else {
+            this.cache = null;
+        }
+        this.staleHitsCounter = Counter.builder(STALE_HITS_METER)
+            .description("Cache hits on an entry older than its time to live, refreshed in the background")
+            .tag("cache", CACHE_NAME)
+            .register(meterRegistry);
+        this.refreshesCounter = Counter.builder(REFRESHES_METER)
+            .description("Background refreshes of stale cache entries")
+            .tag("cache", CACHE_NAME)
+            .register(meterRegistry);
+    }
+
+    /**
+     * @param identityListener notified of each identity fetched from the server, refreshes included
+     */
+    public void registerIdentityListener(BiConsumer<String, UserIdentity> identityListener) {
+        identityListeners.add(identityListener);
     }
 
     /**
@@ -57,13 +158,29 @@ public class UserIdentityService {
         if (sub == null || sub.isBlank()) {
             return Optional.empty();
         }
+        CachedIdentity cached = getCached(sub);
+        if (cached != null) {
+            if (isStale(cached)) {
+                refreshInBackground(List.of(sub));
+            }
+            return Optional.ofNullable(cached.identity());
+        }
 
         try {
             String url = UriComponentsBuilder.fromUriString(userIdentityServerBaseUri + IDENTITIES_PATH)
                     .pathSegment(sub)
                     .toUriString();
-            UserIdentity identity = restTemplate.getForObject(url, UserIdentity.class);
+            UserIdentity identity = circuitBreaker.call(() -> restTemplate.getForObject(url, UserIdentity.class));
+            if (identity != null) {
+                onFetched(sub, identity);
+            }
             return Optional.ofNullable(identity);
+        } catch (HttpClientErrorException.NotFound e) {
+            putCached(sub, null);
+            return Optional.empty();
+        } catch (CircuitBreaker.CallNotPermittedException e) {
+            LOGGER.debug("Identity of user '{}' not fetched: {}", sub, e.getMessage());
+            return Optional.empty();
         } catch (Exception e) {
             LOGGER.warn("Failed to fetch identity for user '{}': {}", sub, e.getMessage());
             LOGGER.debug("Identity fetch error details", e);
@@ -72,8 +189,9 @@ public class UserIdentityService {
     }
 
     /**
-     * Fetches identity information for multiple users in a single request.
-     * Fails silently if the service is unavailable.
+     * Fetches identity information for multiple users: the cached ones, then the others by chunks fetched
+     * concurrently. Fails silently: the identities of a failed chunk are missing, the others are returned.
+     * The stale cached entries are refreshed together, by chunks too, in a single background task.
      *
      * @param subs collection of user subject identifiers
      * @return Map of sub to UserIdentity for successfully fetched identities
@@ -82,33 +200,159 @@ public class UserIdentityService {
         if (CollectionUtils.isEmpty(subs)) {
             return Map.of();
         }
+        List<String> distinctSubs = subs.stream().filter(Objects::nonNull).distinct().toList();
+        Map<String, UserIdentity> identities = new HashMap<>();
+        List<String> missingSubs = new ArrayList<>();
+        List<String> staleSubs = new ArrayList<>();
+        for (String sub : distinctSubs) {
+            CachedIdentity cached = getCached(sub);
+            if (cached == null) {
+                missingSubs.add(sub);
+                continue;
+            }
+            if (isStale(cached)) {
+                staleSubs.add(sub);
+            }
+            if (cached.identity() != null) {
+                identities.put(sub, cached.identity());
+            }
+        }
+        if (!staleSubs.isEmpty()) {
+            refreshInBackground(staleSubs);
+        }
+        if (!missingSubs.isEmpty()) {
+            identities.putAll(fetchIdentities(missingSubs));
+        }
+        return identities;
+    }
+
+    /**
+     * @return the cached entry, {@code null} if not cached
+     */
+    private CachedIdentity getCached(String sub) {
+        return cache != null ? cache.getIfPresent(sub) : null;
+    }
+
+    /**
+     * @return whether the entry is older than its time to live, counted as a stale hit
+     */
+    private boolean isStale(CachedIdentity cached) {
+        if (ticker.read() - cached.writtenAt() <= (cached.identity() != null ? timeToLiveNanos : negativeTimeToLiveNanos)) {
+            return false;
+        }
+        staleHitsCounter.increment();
+        return true;
+    }
 
+    private void putCached(String sub, UserIdentity identity) {
+        if (cache != null) {
+            cache.put(sub, new CachedIdentity(identity, ticker.read()));
+        }
+    }
+
+    private void onFetched(String sub, UserIdentity identity) {
+        putCached(sub, identity);
+        identityListeners.forEach(listener -> listener.accept(sub, identity));
+    }
+
+    /**
+     * Refreshes the stale entries not already being refreshed, by chunks as for the missing ones.
+     */
+    private void refreshInBackground(List<String> staleSubs) {
+        List<String> subs = staleSubs.stream().filter(refreshing::add).toList();
+        if (subs.isEmpty()) {
+            return;
+        }
         try {
-            String url = UriComponentsBuilder.fromUriString(userIdentityServerBaseUri + IDENTITIES_PATH)
-                    .queryParam("subs", String.join(",", subs))
-                    .toUriString();
+            outboundCallsExecutor.execute(() -> {
+                try {
+                    refreshesCounter.increment(subs.size());
+                    // on failure, the stale entries are kept
+                    fetchIdentities(subs);
+                } finally {
+                    subs.forEach(refreshing::remove);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            subs.forEach(refreshing::remove);
+        }
+    }
 
-            UserIdentitiesResult result = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    null,
-                    new ParameterizedTypeReference<UserIdentitiesResult>() { }
-            ).getBody();
+    private Map<String, UserIdentity> fetchIdentities(List<String> subs) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < subs.size(); from += chunkSize) {
+            chunks.add(subs.subList(from, Math.min(from + chunkSize, subs.size())));
+        }
+        if (chunks.size() == 1) {
+            return getIdentitiesChunk(chunks.getFirst());
+        }
+        List<CompletableFuture<Map<String, UserIdentity>>> results = chunks.stream()
+                .map(chunk -> CompletableFuture.supplyAsync(() -> getIdentitiesChunk(chunk), outboundCallsExecutor))
+                .toList();
+        Map<String, UserIdentity> identities = new HashMap<>();
+        results.forEach(result -> identities.putAll(result.join()));
+        return identities;
+    }
 
+    private Map<String, UserIdentity> getIdentitiesChunk(List<String> subs) {
+        try {
+            concurrentCalls.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Map.of();
+        }
+        try {
+            UserIdentitiesResult result = circuitBreaker.call(() -> postBatchSupported.get() ? postIdentities(subs) : getIdentitiesByQuery(subs));
             if (result == null || result.data() == null) {
                 return Map.of();
             }
 
             if (!result.errors().isEmpty()) {
                 LOGGER.debug("Some user identities could not be fetched: {}", result.errors().keySet());
+                result.errors().keySet().forEach(sub -> putCached(sub, null));
             }
 
+            result.data().forEach(this::onFetched);
             return result.data();
+        } catch (CircuitBreaker.CallNotPermittedException e) {
+            LOGGER.debug("Identities of {} users not fetched: {}", subs.size(), e.getMessage());
+            return Map.of();
         } catch (Exception e) {
             LOGGER.warn("Failed to fetch identities for {} users: {}", subs.size(), e.getMessage());
             LOGGER.debug("Batch identity fetch error details", e);
             return Map.of();
+        } finally {
+            concurrentCalls.release();
+        }
+    }
+
+    private UserIdentitiesResult postIdentities(List<String> subs) {
+        try {
+            String url = UriComponentsBuilder.fromUriString(userIdentityServerBaseUri + IDENTITIES_PATH).toUriString();
+            return restTemplate.exchange(
+                    url,
+                    HttpMethod.POST,
+                    new HttpEntity<>(subs),
+                    new ParameterizedTypeReference<UserIdentitiesResult>() { }
+            ).getBody();
+        } catch (HttpClientErrorException.NotFound | HttpClientErrorException.MethodNotAllowed e) {
+            LOGGER.info("The user identity server doesn't support the POST of the subs, using the query string");
+            postBatchSupported.set(false);
+            return getIdentitiesByQuery(subs);
         }
     }
 
+    private UserIdentitiesResult getIdentitiesByQuery(List<String> subs) {
+        String url = UriComponentsBuilder.fromUriString(userIdentityServerBaseUri + IDENTITIES_PATH)
+                .queryParam("subs", String.join(",", subs))
+                .toUriString();
+
+        return restTemplate.exchange(
+                url,
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<UserIdentitiesResult>() { }
+        ).getBody();
+    }
+
 }
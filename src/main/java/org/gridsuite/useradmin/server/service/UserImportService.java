@@ -0,0 +1,359 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.gridsuite.useradmin.server.dto.UserImportIssue;
+import org.gridsuite.useradmin.server.dto.UserImportMode;
+import org.gridsuite.useradmin.server.dto.UserImportReport;
+import org.gridsuite.useradmin.server.dto.UserImportRow;
+import org.gridsuite.useradmin.server.entity.GroupInfosEntity;
+import org.gridsuite.useradmin.server.entity.UserProfileEntity;
+import org.gridsuite.useradmin.server.error.UserAdminException;
+import org.gridsuite.useradmin.server.repository.SqlDialect;
+import org.gridsuite.useradmin.server.repository.UserGroupRepository;
+import org.gridsuite.useradmin.server.repository.UserInfosRepository;
+import org.gridsuite.useradmin.server.repository.UserProfileRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Creates users in bulk from a JSON array or a CSV, read as a stream: the rows are inserted by batches,
+ * each in its own transaction, with JDBC batch statements, so that only one batch is held in memory.
+ * A user whose sub already exists, even if created concurrently, is skipped without failing the other rows of its batch.
+ * <p>
+ * The CSV has a header line naming its columns among {@code sub}, {@code profileName} and {@code groups},
+ * the groups of a user being separated by {@value #CSV_GROUPS_SEPARATOR}.
+ */
+@Service
+public class UserImportService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserImportService.class);
+
+    static final int BATCH_SIZE = 1_000;
+    static final int MAX_REPORTED_ISSUES = 1_000;
+    static final String CSV_GROUPS_SEPARATOR = "|";
+
+    private static final Comparator<UserImportIssue> BY_ROW = Comparator.comparingLong(UserImportIssue::row);
+
+    // the users created concurrently are skipped, the others of the batch are still inserted
+    private static final String POSTGRESQL_INSERT_USER = "INSERT INTO user_infos (id, sub, profile_id, version) VALUES (?, ?, ?, 0) ON CONFLICT (sub) DO NOTHING";
+    private static final String STANDARD_INSERT_USER = """
+        MERGE INTO user_infos u
+        USING (VALUES (CAST(? AS UUID), CAST(? AS VARCHAR(255)), CAST(? AS UUID))) AS a (id, sub, profile_id)
+        ON u.sub = a.sub
+        WHEN NOT MATCHED THEN INSERT (id, sub, profile_id, version) VALUES (a.id, a.sub, a.profile_id, 0)
+        """;
+    private static final String INSERT_MEMBERSHIP = "INSERT INTO users_groups (group_infos_id, user_infos_id) VALUES (?, ?)";
+
+    private final AdminRightService adminRightService;
+    private final UserInfosRepository userInfosRepository;
+    private final UserProfileRepository userProfileRepository;
+    private final UserGroupRepository userGroupRepository;
+    private final UserProfileCache userProfileCache;
+    private final UserSearchIndex userSearchIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private volatile String insertUserSql;
+
+    public UserImportService(final AdminRightService adminRightService,
+                             final UserInfosRepository userInfosRepository,
+                             final UserProfileRepository userProfileRepository,
+                             final UserGroupRepository userGroupRepository,
+                             final UserProfileCache userProfileCache,
+                             final UserSearchIndex userSearchIndex,
+                             final JdbcTemplate jdbcTemplate,
+                             final PlatformTransactionManager transactionManager,
+                             final ObjectMapper objectMapper) {
+        this.adminRightService = Objects.requireNonNull(adminRightService);
+        this.userInfosRepository = Objects.requireNonNull(userInfosRepository);
+        this.userProfileRepository = Objects.requireNonNull(userProfileRepository);
+        this.userGroupRepository = Objects.requireNonNull(userGroupRepository);
+        this.userProfileCache = Objects.requireNonNull(userProfileCache);
+        this.userSearchIndex = Objects.requireNonNull(userSearchIndex);
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = Objects.requireNonNull(objectMapper);
+    }
+
+    private record NumberedRow(long number, UUID id, UserImportRow row, UUID profileId, Set<UUID> groupIds) { }
+
+    public UserImportReport importJson(InputStream json, UserImportMode mode) {
+        adminRightService.assertIsAdmin();
+        Importer importer = new Importer(mode);
+        try (JsonParser parser = objectMapper.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw UserAdminException.invalidImport("a JSON array of users is expected");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                importer.accept(objectMapper.readValue(parser, UserImportRow.class));
+            }
+            if (token != JsonToken.END_ARRAY) {
+                throw UserAdminException.invalidImport("only users are expected in the JSON array");
+            }
+        } catch (IOException e) {
+            throw UserAdminException.invalidImport(e.getMessage());
+        }
+        return importer.finish();
+    }
+
+    public UserImportReport importCsv(InputStream csv, UserImportMode mode) {
+        adminRightService.assertIsAdmin();
+        Importer importer = new Importer(mode);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null) {
+                throw UserAdminException.invalidImport("the CSV header is missing");
+            }
+            List<String> columns = parseCsvLine(header.startsWith("\uFEFF") ? header.substring(1) : header);
+            int subColumn = columns.indexOf("sub");
+            if (subColumn < 0) {
+                throw UserAdminException.invalidImport("the CSV has no 'sub' column");
+            }
+            int profileColumn = columns.indexOf("profileName");
+            int groupsColumn = columns.indexOf("groups");
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> values = parseCsvLine(line);
+                String groups = csvValue(values, groupsColumn);
+                importer.accept(new UserImportRow(csvValue(values, subColumn), csvValue(values, profileColumn),
+                    groups == null ? null : Arrays.stream(groups.split("\\" + CSV_GROUPS_SEPARATOR)).map(String::strip)
+                        .filter(group -> !group.isEmpty()).collect(Collectors.toSet())));
+            }
+        } catch (IOException e) {
+            throw UserAdminException.invalidImport(e.getMessage());
+        }
+        return importer.finish();
+    }
+
+    private String getInsertUserSql() {
+        if (insertUserSql == null) {
+            insertUserSql = SqlDialect.isPostgreSql(jdbcTemplate) ? POSTGRESQL_INSERT_USER : STANDARD_INSERT_USER;
+        }
+        return insertUserSql;
+    }
+
+    private static String csvValue(List<String> values, int column) {
+        if (column < 0 || column >= values.size()) {
+            return null;
+        }
+        String value = values.get(column).strip();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * RFC 4180 fields, without line breaks inside the quoted ones.
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    /**
+     * State of an import: only the subs already read and the current batch are kept.
+     */
+    private final class Importer {
+        private final UserImportMode mode;
+        private final Map<String, UUID> profileIds;
+        private final Map<String, UUID> groupIds;
+        private final Set<String> readSubs = new HashSet<>();
+        private final List<NumberedRow> batch = new ArrayList<>(BATCH_SIZE);
+        // bounded max-heap by row: the existing users are only detected when their batch is flushed,
+        // after later rows may already have been reported, so the cap must keep the lowest rows
+        private final PriorityQueue<UserImportIssue> issues = new PriorityQueue<>(BY_ROW.reversed());
+        private long rowNumber;
+        private long created;
+        private long skipped;
+        private long failed;
+        private boolean issuesTruncated;
+
+        private Importer(UserImportMode mode) {
+            this.mode = Objects.requireNonNull(mode);
+            this.profileIds = userProfileRepository.findAll().stream()
+                .collect(Collectors.toMap(UserProfileEntity::getName, UserProfileEntity::getId));
+            this.groupIds = userGroupRepository.findAll().stream()
+                .collect(Collectors.toMap(GroupInfosEntity::getName, GroupInfosEntity::getId));
+        }
+
+        void accept(UserImportRow row) {
+            long number = ++rowNumber;
+            String sub = row.sub() == null ? null : row.sub().strip();
+            if (sub == null || sub.isEmpty()) {
+                fail(number, null, "The sub is missing");
+                return;
+            }
+            if (!readSubs.add(sub)) {
+                duplicate(number, sub, "The user is repeated in the import");
+                return;
+            }
+            UUID profileId = null;
+            if (row.profileName() != null) {
+                profileId = profileIds.get(row.profileName());
+                if (profileId == null) {
+                    fail(number, sub, String.format("Profile '%s' was not found", row.profileName()));
+                    return;
+                }
+            }
+            Set<UUID> rowGroupIds = new HashSet<>();
+            for (String group : row.groups() == null ? Set.<String>of() : row.groups()) {
+                UUID groupId = groupIds.get(group);
+                if (groupId == null) {
+                    fail(number, sub, String.format("Group '%s' was not found", group));
+                    return;
+                }
+                rowGroupIds.add(groupId);
+            }
+            batch.add(new NumberedRow(number, UUID.randomUUID(), new UserImportRow(sub, row.profileName(), row.groups()), profileId, rowGroupIds));
+            if (batch.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        UserImportReport finish() {
+            flush();
+            return new UserImportReport(created, skipped, failed, issues.stream().sorted(BY_ROW).toList(), issuesTruncated);
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<NumberedRow> rows = List.copyOf(batch);
+            batch.clear();
+            Set<UUID> insertedIds;
+            try {
+                insertedIds = Objects.requireNonNull(transactionTemplate.execute(status -> insert(rows)));
+            } catch (DataAccessException e) {
+                LOGGER.warn("Failed to import a batch of {} users: {}", rows.size(), e.getMessage());
+                rows.forEach(row -> fail(row.number(), row.row().sub(), "The batch of the user couldn't be inserted: " + e.getMostSpecificCause().getMessage()));
+                return;
+            }
+            for (NumberedRow row : rows) {
+                if (insertedIds.contains(row.id())) {
+                    created++;
+                } else {
+                    duplicate(row.number(), row.row().sub(), "The user already exists");
+                }
+            }
+        }
+
+        /**
+         * @return the ids of the inserted users, the others already exist
+         */
+        private Set<UUID> insert(List<NumberedRow> rows) {
+            int[] counts = jdbcTemplate.batchUpdate(getInsertUserSql(), rows, rows.size(), (statement, row) -> {
+                statement.setObject(1, row.id());
+                statement.setString(2, row.row().sub());
+                statement.setObject(3, row.profileId());
+            })[0];
+            Set<UUID> insertedIds = insertedIds(rows, counts);
+            if (insertedIds.isEmpty()) {
+                return insertedIds;
+            }
+            List<NumberedRow> insertedRows = rows.stream().filter(row -> insertedIds.contains(row.id())).toList();
+            // only the inserted users get the groups of their row
+            List<UUID[]> memberships = insertedRows.stream()
+                .flatMap(row -> row.groupIds().stream().map(groupId -> new UUID[] {groupId, row.id()}))
+                .toList();
+            if (!memberships.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_MEMBERSHIP, memberships, BATCH_SIZE, (statement, membership) -> {
+                    statement.setObject(1, membership[0]);
+                    statement.setObject(2, membership[1]);
+                });
+            }
+            List<String> subs = insertedRows.stream().map(row -> row.row().sub()).toList();
+            // their default profile may be cached
+            userProfileCache.evict(subs);
+            userSearchIndex.onUsersCreated(subs);
+            return insertedIds;
+        }
+
+        private Set<UUID> insertedIds(List<NumberedRow> rows, int[] counts) {
+            if (Arrays.stream(counts).noneMatch(count -> count == Statement.SUCCESS_NO_INFO)) {
+                return IntStream.range(0, rows.size()).filter(i -> counts[i] > 0)
+                    .mapToObj(i -> rows.get(i).id()).collect(Collectors.toSet());
+            }
+            // the driver doesn't report the count of each row: the inserted users are those with the generated ids
+            Set<UUID> ids = rows.stream().map(NumberedRow::id).collect(Collectors.toSet());
+            return userInfosRepository.findIdAndSubBySubIn(rows.stream().map(row -> row.row().sub()).toList()).stream()
+                .map(row -> (UUID) row[0]).filter(ids::contains).collect(Collectors.toSet());
+        }
+
+        private void duplicate(long number, String sub, String message) {
+            skipped++;
+            if (mode == UserImportMode.REPORT) {
+                report(new UserImportIssue(number, sub, UserImportIssue.Status.DUPLICATE, message));
+            }
+        }
+
+        private void fail(long number, String sub, String message) {
+            failed++;
+            report(new UserImportIssue(number, sub, UserImportIssue.Status.FAILED, message));
+        }
+
+        private void report(UserImportIssue issue) {
+            issues.add(issue);
+            if (issues.size() > MAX_REPORTED_ISSUES) {
+                issues.poll();
+                issuesTruncated = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.gridsuite.useradmin.server.UserAdminApplicationProps;
+import org.gridsuite.useradmin.server.dto.UserProfile;
+import org.gridsuite.useradmin.server.dto.VersionedUserProfile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded in-memory cache of the effective {@link UserProfile} of a user with its entity tag, keyed by sub.
+ * <p>
+ * Evictions requested inside a transaction are applied once it completes, so that a concurrent
+ * reader can't put back a value read before the commit. They are then propagated to the other
+ * replicas through {@link CacheInvalidationService}.
+ */
+@Component
+public class UserProfileCache {
+    public static final String CACHE_NAME = "userProfiles";
+
+    private final Cache<String, VersionedUserProfile> cache;
+    private final CacheInvalidationService cacheInvalidationService;
+
+    public UserProfileCache(final UserAdminApplicationProps applicationProps,
+                            final CacheInvalidationService cacheInvalidationService,
+                            final MeterRegistry meterRegistry) {
+        this.cacheInvalidationService = Objects.requireNonNull(cacheInvalidationService);
+        UserAdminApplicationProps.CacheSpec spec = applicationProps.getCache().getUserProfile();
+        if (spec.isEnabled()) {
+            this.cache = Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfterWrite(spec.getTimeToLive())
+                .recordStats()
+                .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
+            cacheInvalidationService.register(CACHE_NAME, this::evictLocally);
+        } else {
+            this.cache = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    public VersionedUserProfile get(String sub, Function<String, VersionedUserProfile> loader) {
+        return cache == null ? loader.apply(sub) : cache.get(sub, loader);
+    }
+
+    /**
+     * @return the cached profile without loading it on a miss
+     */
+    public Optional<UserProfile> getIfPresent(String sub) {
+        return cache == null ? Optional.empty() : Optional.ofNullable(cache.getIfPresent(sub)).map(VersionedUserProfile::profile);
+    }
+
+    public void evict(String... subs) {
+        evict(Arrays.asList(subs));
+    }
+
+    public void evict(Collection<String> subs) {
+        if (cache == null || subs.isEmpty()) {
+            return;
+        }
+        List<String> keys = subs.stream().filter(Objects::nonNull).toList();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictEverywhere(keys);
+                }
+            });
+        } else {
+            evictEverywhere(keys);
+        }
+    }
+
+    private void evictEverywhere(List<String> keys) {
+        evictLocally(keys);
+        cacheInvalidationService.publish(CACHE_NAME, keys);
+    }
+
+    void evictLocally(List<String> keys) {
+        cache.invalidateAll(keys);
+    }
+}
@@ -10,8 +10,10 @@ import com.google.common.collect.Sets;
 import org.apache.commons.lang3.BooleanUtils;
 import org.gridsuite.useradmin.server.UserAdminApplicationProps;
 import org.gridsuite.useradmin.server.error.UserAdminException;
+import org.gridsuite.useradmin.server.dto.ProfileReassignment;
 import org.gridsuite.useradmin.server.dto.UserProfile;
 import org.gridsuite.useradmin.server.entity.UserProfileEntity;
+import org.gridsuite.useradmin.server.repository.UserInfosRepository;
 import org.gridsuite.useradmin.server.repository.UserProfileRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,17 +28,23 @@ import java.util.stream.Stream;
 @Service
 public class UserProfileService {
     private final UserProfileRepository userProfileRepository;
+    private final UserInfosRepository userInfosRepository;
     private final DirectoryService directoryService;
     private final AdminRightService adminRightService;
+    private final UserProfileCache userProfileCache;
     private final UserAdminApplicationProps applicationProps;
 
     public UserProfileService(final UserProfileRepository userProfileRepository,
+                              final UserInfosRepository userInfosRepository,
                               final AdminRightService adminRightService,
                               final DirectoryService directoryService,
+                              final UserProfileCache userProfileCache,
                               final UserAdminApplicationProps applicationProps) {
         this.userProfileRepository = Objects.requireNonNull(userProfileRepository);
+        this.userInfosRepository = Objects.requireNonNull(userInfosRepository);
         this.adminRightService = Objects.requireNonNull(adminRightService);
         this.directoryService = Objects.requireNonNull(directoryService);
+        this.userProfileCache = Objects.requireNonNull(userProfileCache);
         this.applicationProps = Objects.requireNonNull(applicationProps);
     }
 
@@ -69,7 +77,16 @@ public class UserProfileService {
                 e.getWorkspaceId()))
             .filter(Objects::nonNull)
             .collect(Collectors.toSet());
-        Set<UUID> existingUuids = directoryService.getExistingElements(allUuidsInAllProfiles, userId);
+        Set<UUID> existingUuids;
+        try {
+            existingUuids = directoryService.getExistingElements(allUuidsInAllProfiles, userId);
+        } catch (CircuitBreaker.CallNotPermittedException e) {
+            // links validity unknown
+            return profiles
+                .stream()
+                .map(this::toDto)
+                .toList();
+        }
         // relative complement will be used to check the elements validity (the missing set should be very small)
         Set<UUID> missingUuids = Sets.difference(allUuidsInAllProfiles, existingUuids);
 
@@ -120,6 +137,7 @@ public class UserProfileService {
         adminRightService.assertIsAdmin();
         UserProfileEntity profile = userProfileRepository.findById(profileUuid)
             .orElseThrow(() -> UserAdminException.profileNotFound(profileUuid));
+        userProfileCache.evict(userInfosRepository.findSubsByProfileId(profileUuid));
         profile.setName(userProfile.name());
         profile.setLoadFlowParameterId(userProfile.loadFlowParameterId());
         profile.setSecurityAnalysisParameterId(userProfile.securityAnalysisParameterId());
@@ -147,14 +165,42 @@ public class UserProfileService {
     @Transactional
     public long deleteProfiles(List<String> names) {
         adminRightService.assertIsAdmin();
+        userProfileCache.evict(userInfosRepository.findSubsByProfileNameIn(names));
         return userProfileRepository.deleteAllByNameIn(names);
     }
 
+    /**
+     * Moves the users to the target profile with a single statement, without loading them.
+     *
+     * @return the number of users whose profile changed
+     */
+    @Transactional
+    public int reassignUsers(UUID profileUuid, ProfileReassignment reassignment) {
+        adminRightService.assertIsAdmin();
+        if ((reassignment.subs() == null) == (reassignment.fromProfileId() == null)) {
+            throw UserAdminException.invalidProfileReassignment("either the subs or the current profile of the users is expected");
+        }
+        UserProfileEntity profile = userProfileRepository.findById(profileUuid)
+            .orElseThrow(() -> UserAdminException.profileNotFound(profileUuid));
+        if (reassignment.subs() != null) {
+            if (reassignment.subs().isEmpty()) {
+                return 0;
+            }
+            userProfileCache.evict(reassignment.subs());
+            return userInfosRepository.updateProfileBySubIn(reassignment.subs(), profile);
+        }
+        if (reassignment.fromProfileId().equals(profileUuid)) {
+            return 0;
+        }
+        userProfileCache.evict(userInfosRepository.findSubsByProfileId(reassignment.fromProfileId()));
+        return userInfosRepository.updateProfileByProfileId(reassignment.fromProfileId(), profile);
+    }
+
     Optional<UserProfile> getProfile(UUID profileUuid) {
         return userProfileRepository.findById(profileUuid).map(this::toDto);
     }
 
-    private UserProfile toDto(final UserProfileEntity entity) {
+    UserProfile toDto(final UserProfileEntity entity) {
         return toDto(entity, null);
     }
 
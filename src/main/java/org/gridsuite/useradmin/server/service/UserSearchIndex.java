@@ -0,0 +1,267 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.service;
+
+import org.gridsuite.useradmin.server.dto.UserIdentity;
+import org.gridsuite.useradmin.server.repository.UserInfosRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of the users by sub, first name and last name, for a search by any part of them.
+ * <p>
+ * The normalized (lower case, without accents) fields are indexed by trigram, and by whole value for the
+ * queries shorter than a trigram, which only match the beginning of a field. The names are the ones of the
+ * identities fetched from the user identity server.
+ * The index is updated once the transactions creating, renaming or deleting users are committed, and is
+ * resynchronized periodically with the database for the changes made by the other replicas.
+ */
+@Component
+public class UserSearchIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserSearchIndex.class);
+
+    private static final int GRAM_LENGTH = 3;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private record Entry(String sub, String firstName, String lastName, List<String> fields) {
+        /**
+         * @return 0 if no field contains the query, the higher the better the match otherwise
+         */
+        int score(String query) {
+            int score = 0;
+            for (String field : fields) {
+                if (field.equals(query)) {
+                    return 4;
+                } else if (field.startsWith(query)) {
+                    score = Math.max(score, 3);
+                } else {
+                    int index = field.indexOf(query);
+                    if (index > 0) {
+                        // beginning of a word of the field
+                        score = Math.max(score, Character.isLetterOrDigit(field.charAt(index - 1)) ? 1 : 2);
+                    }
+                }
+            }
+            return score;
+        }
+
+        UserIdentity toIdentity() {
+            return new UserIdentity(sub, firstName, lastName);
+        }
+    }
+
+    private record Hit(Entry entry, int score) { }
+
+    private static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::score).reversed()
+        .thenComparing(hit -> hit.entry().sub());
+
+    private final UserInfosRepository userInfosRepository;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> subsByGram = new ConcurrentHashMap<>();
+    private final NavigableMap<String, Set<String>> subsByField = new ConcurrentSkipListMap<>();
+
+    public UserSearchIndex(final UserInfosRepository userInfosRepository, final UserIdentityService userIdentityService) {
+        this.userInfosRepository = Objects.requireNonNull(userInfosRepository);
+        userIdentityService.registerIdentityListener(this::onIdentity);
+    }
+
+    /**
+     * @return the users whose sub, first name or last name contains the query, the best matches first
+     */
+    public List<UserIdentity> search(String query, int limit) {
+        String normalizedQuery = normalize(query);
+        if (normalizedQuery.isEmpty()) {
+            return List.of();
+        }
+        return candidates(normalizedQuery).stream()
+            .map(entries::get)
+            .filter(Objects::nonNull)
+            .map(entry -> new Hit(entry, entry.score(normalizedQuery)))
+            .filter(hit -> hit.score() > 0)
+            .sorted(RANKING)
+            .limit(limit)
+            .map(hit -> hit.entry().toIdentity())
+            .toList();
+    }
+
+    private Collection<String> candidates(String query) {
+        if (query.length() < GRAM_LENGTH) {
+            Set<String> subs = new HashSet<>();
+            subsByField.subMap(query, true, query + Character.MAX_VALUE, true).values().forEach(subs::addAll);
+            return subs;
+        }
+        List<Set<String>> postings = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Set<String> subs = subsByGram.get(gram);
+            if (subs == null) {
+                return List.of();
+            }
+            postings.add(subs);
+        }
+        // intersection from the rarest trigram
+        postings.sort(Comparator.comparingInt(Set::size));
+        List<String> candidates = new ArrayList<>(postings.getFirst());
+        postings.subList(1, postings.size()).forEach(candidates::retainAll);
+        return candidates;
+    }
+
+    public void onUserCreated(String sub) {
+        afterCommit(() -> addIfAbsent(sub));
+    }
+
+    public void onUsersCreated(Collection<String> subs) {
+        List<String> createdSubs = List.copyOf(subs);
+        afterCommit(() -> createdSubs.forEach(this::addIfAbsent));
+    }
+
+    public void onUserRenamed(String oldSub, String newSub) {
+        if (newSub != null && !newSub.equals(oldSub)) {
+            afterCommit(() -> rename(oldSub, newSub));
+        }
+    }
+
+    public void onUsersDeleted(Collection<String> subs) {
+        List<String> deletedSubs = List.copyOf(subs);
+        afterCommit(() -> deletedSubs.forEach(this::remove));
+    }
+
+    private void onIdentity(String sub, UserIdentity identity) {
+        // only the identities of indexed users, the others aren't users anymore or yet
+        if (entries.containsKey(sub)) {
+            put(sub, identity.firstName(), identity.lastName());
+        }
+    }
+
+    /**
+     * Adds the users missing from the index and removes the ones not in the database anymore.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resync() {
+        Set<String> subs = new HashSet<>(userInfosRepository.findAllSubs());
+        entries.keySet().stream().filter(sub -> !subs.contains(sub)).toList().forEach(this::remove);
+        subs.forEach(this::addIfAbsent);
+        LOGGER.debug("User search index resynchronized with {} users", subs.size());
+    }
+
+    private synchronized void addIfAbsent(String sub) {
+        if (!entries.containsKey(sub)) {
+            index(newEntry(sub, null, null));
+        }
+    }
+
+    private synchronized void put(String sub, String firstName, String lastName) {
+        Entry entry = newEntry(sub, firstName, lastName);
+        Entry previous = entries.get(sub);
+        if (entry.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            unindex(previous);
+        }
+        index(entry);
+    }
+
+    private synchronized void rename(String oldSub, String newSub) {
+        Entry previous = entries.get(oldSub);
+        if (previous != null) {
+            unindex(previous);
+        }
+        // the identity of the old sub isn't the one of the new sub
+        if (!entries.containsKey(newSub)) {
+            index(newEntry(newSub, null, null));
+        }
+    }
+
+    private synchronized void remove(String sub) {
+        Entry previous = entries.get(sub);
+        if (previous != null) {
+            unindex(previous);
+        }
+    }
+
+    private void index(Entry entry) {
+        entries.put(entry.sub(), entry);
+        for (String field : entry.fields()) {
+            subsByField.computeIfAbsent(field, key -> ConcurrentHashMap.newKeySet()).add(entry.sub());
+            grams(field).forEach(gram -> subsByGram.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(entry.sub()));
+        }
+    }
+
+    private void unindex(Entry entry) {
+        entries.remove(entry.sub());
+        for (String field : entry.fields()) {
+            removeFrom(subsByField, field, entry.sub());
+            grams(field).forEach(gram -> removeFrom(subsByGram, gram, entry.sub()));
+        }
+    }
+
+    private static void removeFrom(Map<String, Set<String>> postings, String key, String sub) {
+        postings.computeIfPresent(key, (k, subs) -> {
+            subs.remove(sub);
+            return subs.isEmpty() ? null : subs;
+        });
+    }
+
+    private static Entry newEntry(String sub, String firstName, String lastName) {
+        List<String> fields = Stream.of(sub, firstName, lastName)
+            .map(UserSearchIndex::normalize)
+            .filter(field -> !field.isEmpty())
+            .distinct()
+            .toList();
+        return new Entry(sub, firstName, lastName, fields);
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return DIACRITICS.matcher(Normalizer.normalize(value.strip(), Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+}
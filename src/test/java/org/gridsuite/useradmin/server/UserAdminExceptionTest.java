@@ -11,6 +11,7 @@ import org.gridsuite.useradmin.server.error.UserAdminException;
 import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -27,6 +28,8 @@ class UserAdminExceptionTest {
 
         assertThat(UserAdminException.userAlreadyExists("subj").getMessage()).contains("subj");
         assertThat(UserAdminException.userNotFound("subj").getMessage()).contains("subj");
+        assertThat(UserAdminException.usersNotFound(List.of("subj2", "subj1")).getMessage())
+            .isEqualTo("2 users were not found: ['subj1', 'subj2']");
 
         assertThat(UserAdminException.profileAlreadyExists("profile").getBusinessErrorCode())
             .isEqualTo(UserAdminBusinessErrorCode.USER_ADMIN_PROFILE_ALREADY_EXISTS);
@@ -48,6 +51,13 @@ class UserAdminExceptionTest {
         assertThat(UserAdminException.announcementOverlap(start, end).getBusinessErrorCode())
             .isEqualTo(UserAdminBusinessErrorCode.USER_ADMIN_ANNOUNCEMENT_OVERLAP);
 
+        assertThat(UserAdminException.invalidCursor("cursor").getBusinessErrorCode())
+            .isEqualTo(UserAdminBusinessErrorCode.USER_ADMIN_INVALID_CURSOR);
+        assertThat(UserAdminException.invalidImport("no header").getBusinessErrorCode())
+            .isEqualTo(UserAdminBusinessErrorCode.USER_ADMIN_INVALID_IMPORT);
+        assertThat(UserAdminException.invalidProfileReassignment("no users").getBusinessErrorCode())
+            .isEqualTo(UserAdminBusinessErrorCode.USER_ADMIN_INVALID_PROFILE_REASSIGNMENT);
+
         UserAdminException formatted = UserAdminException.of(UserAdminBusinessErrorCode.USER_ADMIN_USER_NOT_FOUND,
             "User %s missing", "x");
         assertThat(formatted.getMessage()).isEqualTo("User x missing");
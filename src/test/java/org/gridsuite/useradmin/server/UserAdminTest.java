@@ -9,36 +9,63 @@ package org.gridsuite.useradmin.server;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
 import org.apache.commons.collections4.CollectionUtils;
+import org.gridsuite.useradmin.server.dto.ConnectionsPage;
+import org.gridsuite.useradmin.server.dto.UserConnection;
 import org.gridsuite.useradmin.server.dto.UserGroup;
 import org.gridsuite.useradmin.server.dto.UserInfos;
 import org.gridsuite.useradmin.server.dto.UserProfile;
+import org.gridsuite.useradmin.server.dto.UserQuota;
+import org.gridsuite.useradmin.server.dto.UserQuotaSnapshot;
+import org.gridsuite.useradmin.server.dto.UsersPage;
 import org.gridsuite.useradmin.server.entity.ConnectionEntity;
+import org.gridsuite.useradmin.server.entity.GroupInfosEntity;
+import org.gridsuite.useradmin.server.entity.UserInfosEntity;
+import org.gridsuite.useradmin.server.entity.UserProfileEntity;
+import org.gridsuite.useradmin.server.repository.ConnectionEventRepository;
 import org.gridsuite.useradmin.server.repository.ConnectionRepository;
 import org.gridsuite.useradmin.server.repository.UserGroupRepository;
 import org.gridsuite.useradmin.server.repository.UserInfosRepository;
 import org.gridsuite.useradmin.server.repository.UserProfileRepository;
+import org.gridsuite.useradmin.server.service.ConnectionMetrics;
+import org.gridsuite.useradmin.server.service.DirectoryService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.stream.binder.test.TestChannelBinderConfiguration;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.gridsuite.useradmin.server.Utils.ROLES_HEADER;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.gridsuite.useradmin.server.utils.TestConstants.*;
 
@@ -67,15 +94,28 @@ class UserAdminTest {
     @Autowired
     private ConnectionRepository connectionRepository;
 
+    @Autowired
+    private ConnectionEventRepository connectionEventRepository;
+
     @Autowired
     private UserAdminApplicationProps userAdminApplicationProps;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private DirectoryService directoryService;
+
     @AfterEach
     void cleanDB() {
         userGroupRepository.deleteAll();
         userInfosRepository.deleteAll();
         userProfileRepository.deleteAll();
         connectionRepository.deleteAll();
+        connectionEventRepository.deleteAll();
     }
 
     private static final String USER_SUB = "user1";
@@ -242,6 +282,28 @@ class UserAdminTest {
         assertEquals(GROUP_2, userGroups.get(0).name());
     }
 
+    @Test
+    void testNoOpUpdateUserDoesNotRewriteGroups() throws Exception {
+        UserProfileEntity profile = userProfileRepository.save(new UserProfileEntity(UUID.randomUUID(), PROFILE_1, null, null, null, null, null, null, 15, 5, null, null, null));
+        UserInfosEntity user = userInfosRepository.save(new UserInfosEntity(UUID.randomUUID(), USER_SUB, profile, null));
+        Set<String> groupNames = IntStream.range(0, 10).mapToObj(i -> "group_" + i).collect(Collectors.toSet());
+        groupNames.forEach(name -> userGroupRepository.save(new GroupInfosEntity(UUID.randomUUID(), name, new HashSet<>(Set.of(user)))));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(put("/" + UserAdminApi.API_VERSION + "/users/{sub}", USER_SUB)
+                        .content(objectMapper.writeValueAsString(new UserInfos(USER_SUB, null, null, PROFILE_1, null, null, null, groupNames)))
+                        .contentType(APPLICATION_JSON)
+                        .header("userId", ADMIN_USER)
+                        .header(ROLES_HEADER, USER_ADMIN_ROLE))
+                .andExpect(status().isOk());
+        // the user, its profile, the requested profile and the current groups: no write, not one query per group
+        assertTrue(statistics.getPrepareStatementCount() <= 4);
+        assertEquals(0, statistics.getEntityUpdateCount());
+        assertEquals(user.getVersion(), userInfosRepository.findBySub(USER_SUB).orElseThrow().getVersion());
+        assertEquals(groupNames, getUserGroups(USER_SUB, HttpStatus.OK).stream().map(UserGroup::name).collect(Collectors.toSet()));
+    }
+
     @Test
     void testUpdateUserNotFound() throws Exception {
         updateUserWithAdmin("nofFound", new UserInfos("nofFound", null, null, "prof", null, null, null, null), HttpStatus.NOT_FOUND);
@@ -308,35 +370,301 @@ class UserAdminTest {
                 .andExpect(status().isOk())
                 .andReturn();
 
-        List<ConnectionEntity> connectionEntities = objectMapper.readValue(
-                mockMvc.perform(get("/" + UserAdminApi.API_VERSION + "/connections")
+        List<ConnectionEntity> connectionEntities = objectMapper.readValue(getStreamed("/connections"), new TypeReference<>() { });
+
+        assertEquals(2, connectionEntities.size());
+
+        // a duplicated connection is rejected by the unique constraint on sub
+        ConnectionEntity duplicate = new ConnectionEntity(USER_SUB, LocalDateTime.now(), LocalDateTime.now(), true);
+        assertThrows(DataIntegrityViolationException.class, () -> connectionRepository.save(duplicate));
+
+        // new attempts update the existing connections
+        mockMvc.perform(head(RECORD_CONNECTION_URL, USER_SUB)
+                        .param(IS_CONNECTION_ACCEPTED_PARAM, "true"))
+                .andExpect(status().isOk());
+        mockMvc.perform(head(RECORD_CONNECTION_URL, USER_SUB2)
+                        .param(IS_CONNECTION_ACCEPTED_PARAM, "false"))
+                .andExpect(status().isOk());
+        assertFalse(connectionRepository.findBySub(USER_SUB2).get(0).getConnectionAccepted());
+
+        connectionEntities = objectMapper.readValue(getStreamed("/connections"), new TypeReference<>() { });
+        assertEquals(2, connectionEntities.size());
+
+        mockMvc.perform(get("/" + UserAdminApi.API_VERSION + "/connections")
+                        .header("userId", NOT_ADMIN)
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testGetUsersStatementCountDoesntGrowWithUsers() throws Exception {
+        UserProfileEntity profile = userProfileRepository.save(new UserProfileEntity(UUID.randomUUID(), PROFILE_1, null, null, null, null, null, null, 15, 5, null, null, null));
+        Set<UserInfosEntity> users = new HashSet<>(userInfosRepository.saveAll(List.of(
+            new UserInfosEntity(UUID.randomUUID(), "user_0", profile, null),
+            new UserInfosEntity(UUID.randomUUID(), "user_1", null, null))));
+        userGroupRepository.save(new GroupInfosEntity(UUID.randomUUID(), GROUP_1, users));
+        long fewUsersStatements = countGetUsersStatements(2);
+
+        UserProfileEntity otherProfile = userProfileRepository.save(new UserProfileEntity(UUID.randomUUID(), "profile_2", null, null, null, null, null, null, 15, 5, null, null, null));
+        List<UserInfosEntity> moreUsers = userInfosRepository.saveAll(IntStream.range(2, 50)
+            .mapToObj(i -> new UserInfosEntity(UUID.randomUUID(), "user_" + i, i % 2 == 0 ? profile : otherProfile, null))
+            .toList());
+        userGroupRepository.save(new GroupInfosEntity(UUID.randomUUID(), "group_2", new HashSet<>(moreUsers)));
+        assertEquals(fewUsersStatements, countGetUsersStatements(50));
+    }
+
+    private long countGetUsersStatements(int expectedUsers) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<UserInfos> users = objectMapper.readValue(
+                mockMvc.perform(get("/" + UserAdminApi.API_VERSION + "/users")
                                 .header("userId", ADMIN_USER)
-                                .header(ROLES_HEADER, USER_ADMIN_ROLE)
-                                .contentType(APPLICATION_JSON))
+                                .header(ROLES_HEADER, USER_ADMIN_ROLE))
                         .andExpect(status().isOk())
                         .andReturn().getResponse().getContentAsString(),
                 new TypeReference<>() { });
+        assertEquals(expectedUsers, users.size());
+        assertTrue(users.stream().allMatch(user -> user.groups().size() == 1));
+        return statistics.getPrepareStatementCount();
+    }
 
-        assertEquals(2, connectionEntities.size());
+    @Test
+    void testBulkDeleteIsSetBased() throws Exception {
+        List<UserInfosEntity> users = userInfosRepository.saveAll(IntStream.range(0, 30)
+            .mapToObj(i -> new UserInfosEntity(UUID.randomUUID(), "user_" + i, null, null))
+            .toList());
+        userGroupRepository.save(new GroupInfosEntity(UUID.randomUUID(), GROUP_1, new HashSet<>(users)));
+        List<String> deletedSubs = users.subList(0, 20).stream().map(UserInfosEntity::getSub).toList();
+
+        // all the missing users in a single error, nothing deleted
+        List<String> withMissingSubs = new ArrayList<>(deletedSubs);
+        withMissingSubs.addAll(List.of("missing_2", "missing_1"));
+        String error = mockMvc.perform(delete("/" + UserAdminApi.API_VERSION + "/users")
+                        .header("userId", ADMIN_USER)
+                        .header(ROLES_HEADER, USER_ADMIN_ROLE)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(withMissingSubs)))
+                .andExpect(status().isNotFound())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(error.contains("2 users were not found: ['missing_1', 'missing_2']"));
+        assertEquals(30, userInfosRepository.count());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(delete("/" + UserAdminApi.API_VERSION + "/users")
+                        .header("userId", ADMIN_USER)
+                        .header(ROLES_HEADER, USER_ADMIN_ROLE)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(deletedSubs)))
+                .andExpect(status().isNoContent());
+        // existence check, memberships delete, users delete: not one per user
+        assertTrue(statistics.getPrepareStatementCount() <= 4);
+
+        assertEquals(10, userInfosRepository.count());
+        assertEquals(List.of(GROUP_1), getUserGroups("user_25", HttpStatus.OK).stream().map(UserGroup::name).toList());
+        assertEquals(10, userGroupRepository.findUserIdAndGroupNameByUserIdIn(users.stream().map(UserInfosEntity::getId).toList()).size());
+    }
+
+    @Test
+    void testConnectionAttemptMetrics() throws Exception {
+        double acceptedBefore = meterRegistry.get(ConnectionMetrics.ATTEMPTS_METER).tag("accepted", "true").counter().count();
+        double refusedBefore = meterRegistry.get(ConnectionMetrics.ATTEMPTS_METER).tag("accepted", "false").counter().count();
+        long recordedBefore = meterRegistry.get(ConnectionMetrics.RECORD_METER).tag("buffered", "false").timer().count();
+        long dbBefore = meterRegistry.get(ConnectionMetrics.RECORD_DB_METER).timer().count();
+
+        for (String accepted : List.of("true", "true", "false")) {
+            mockMvc.perform(head(RECORD_CONNECTION_URL, USER_SUB)
+                            .param(IS_CONNECTION_ACCEPTED_PARAM, accepted))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(head(RECORD_CONNECTION_URL, USER_SUB2)
+                        .param(IS_CONNECTION_ACCEPTED_PARAM, "true"))
+                .andExpect(status().isOk());
 
+        assertEquals(acceptedBefore + 3, meterRegistry.get(ConnectionMetrics.ATTEMPTS_METER).tag("accepted", "true").counter().count());
+        assertEquals(refusedBefore + 1, meterRegistry.get(ConnectionMetrics.ATTEMPTS_METER).tag("accepted", "false").counter().count());
+        assertEquals(recordedBefore + 4, meterRegistry.get(ConnectionMetrics.RECORD_METER).tag("buffered", "false").timer().count());
+        assertEquals(dbBefore + 4, meterRegistry.get(ConnectionMetrics.RECORD_DB_METER).timer().count());
+        assertTrue(meterRegistry.get(ConnectionMetrics.DISTINCT_SUBS_METER).gauge().value() >= 2);
+    }
+
+    @Test
+    void testGetConnectionsPage() throws Exception {
+        LocalDateTime date = LocalDateTime.of(2026, 1, 1, 8, 0);
+        connectionRepository.save(new ConnectionEntity(USER_SUB, date, date.plusHours(3), true));
+        connectionRepository.save(new ConnectionEntity(USER_SUB2, date, date.plusHours(2), false));
+        connectionRepository.save(new ConnectionEntity(USER_UNKNOWN, date, date.plusHours(1), true));
+
+        // most recent first by default
+        ConnectionsPage page = getConnectionsPage(Map.of("size", "2"));
+        assertEquals(List.of(USER_SUB, USER_SUB2), page.connections().stream().map(UserConnection::sub).toList());
+        assertNotNull(page.nextCursor());
+        page = getConnectionsPage(Map.of("size", "2", "cursor", page.nextCursor()));
+        assertEquals(List.of(USER_UNKNOWN), page.connections().stream().map(UserConnection::sub).toList());
+        assertNull(page.nextCursor());
+
+        // filters
+        page = getConnectionsPage(Map.of("accepted", "false"));
+        assertEquals(List.of(USER_SUB2), page.connections().stream().map(UserConnection::sub).toList());
+        page = getConnectionsPage(Map.of("from", "2026-01-01T09:30:00Z", "to", "2026-01-01T11:00:00Z"));
+        assertEquals(List.of(USER_SUB2), page.connections().stream().map(UserConnection::sub).toList());
+        page = getConnectionsPage(Map.of("subPrefix", "user", "sortBy", "SUB", "direction", "ASC", "size", "1"));
+        assertEquals(List.of(USER_SUB), page.connections().stream().map(UserConnection::sub).toList());
+        page = getConnectionsPage(Map.of("subPrefix", "user", "sortBy", "SUB", "direction", "ASC", "size", "1", "cursor", page.nextCursor()));
+        assertEquals(List.of(USER_SUB2), page.connections().stream().map(UserConnection::sub).toList());
+        assertNull(page.nextCursor());
+
+        mockMvc.perform(get("/" + UserAdminApi.API_VERSION + "/connections/page")
+                        .param("cursor", "not a cursor")
+                        .header("userId", ADMIN_USER)
+                        .header(ROLES_HEADER, USER_ADMIN_ROLE))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/" + UserAdminApi.API_VERSION + "/connections/page")
+                        .header("userId", NOT_ADMIN))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testGetUsersPage() throws Exception {
+        UserProfileEntity profileA = userProfileRepository.save(new UserProfileEntity(UUID.randomUUID(), "profile_A", null, null, null, null, null, null, 15, 5, null, null, null));
+        UserProfileEntity profileB = userProfileRepository.save(new UserProfileEntity(UUID.randomUUID(), "profile_B", null, null, null, null, null, null, 15, 5, null, null, null));
+        UserInfosEntity alice = userInfosRepository.save(new UserInfosEntity(UUID.randomUUID(), "alice", profileB, null));
+        UserInfosEntity bob = userInfosRepository.save(new UserInfosEntity(UUID.randomUUID(), "bob", profileA, null));
+        userInfosRepository.save(new UserInfosEntity(UUID.randomUUID(), "carol_%", null, null));
+        userInfosRepository.save(new UserInfosEntity(UUID.randomUUID(), "dave", profileA, null));
+        userGroupRepository.save(new GroupInfosEntity(UUID.randomUUID(), GROUP_1, Set.of(alice, bob)));
+
+        // keyset pagination by sub
+        UsersPage page = getUsersPage(Map.of("size", "3"));
+        assertEquals(List.of("alice", "bob", "carol_%"), page.users().stream().map(UserInfos::sub).toList());
+        assertEquals(Set.of(GROUP_1), page.users().get(0).groups());
+        assertEquals("profile_B", page.users().get(0).profileName());
+        page = getUsersPage(Map.of("size", "3", "cursor", page.nextCursor()));
+        assertEquals(List.of("dave"), page.users().stream().map(UserInfos::sub).toList());
+        assertNull(page.nextCursor());
+
+        // by profile, users without profile first, then by sub
+        page = getUsersPage(Map.of("sortBy", "PROFILE", "size", "2"));
+        assertEquals(List.of("carol_%", "bob"), page.users().stream().map(UserInfos::sub).toList());
+        page = getUsersPage(Map.of("sortBy", "PROFILE", "size", "2", "cursor", page.nextCursor()));
+        assertEquals(List.of("dave", "alice"), page.users().stream().map(UserInfos::sub).toList());
+        assertNull(page.nextCursor());
+        page = getUsersPage(Map.of("sortBy", "PROFILE", "direction", "DESC"));
+        assertEquals(List.of("alice", "dave", "bob", "carol_%"), page.users().stream().map(UserInfos::sub).toList());
+
+        // filters
+        page = getUsersPage(Map.of("profileName", "profile_A"));
+        assertEquals(List.of("bob", "dave"), page.users().stream().map(UserInfos::sub).toList());
+        page = getUsersPage(Map.of("groupName", GROUP_1, "direction", "DESC"));
+        assertEquals(List.of("bob", "alice"), page.users().stream().map(UserInfos::sub).toList());
+        page = getUsersPage(Map.of("subContains", "A"));
+        assertEquals(List.of("alice", "carol_%", "dave"), page.users().stream().map(UserInfos::sub).toList());
+        page = getUsersPage(Map.of("subContains", "_%"));
+        assertEquals(List.of("carol_%"), page.users().stream().map(UserInfos::sub).toList());
+
+        mockMvc.perform(get("/" + UserAdminApi.API_VERSION + "/users/page")
+                        .param("cursor", "not a cursor")
+                        .header("userId", ADMIN_USER)
+                        .header(ROLES_HEADER, USER_ADMIN_ROLE))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/" + UserAdminApi.API_VERSION + "/users/page")
+                        .header("userId", NOT_ADMIN))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testStreamUsersAndConnections() throws Exception {
+        UserProfileEntity profile = userProfileRepository.save(new UserProfileEntity(UUID.randomUUID(), PROFILE_1, null, null, null, null, null, null, 15, 5, null, null, null));
+        List<UserInfosEntity> users = userInfosRepository.saveAll(IntStream.range(0, 1_200)
+            .mapToObj(i -> new UserInfosEntity(UUID.randomUUID(), String.format("user_%04d", i), i % 2 == 0 ? profile : null, null))
+            .toList());
+        userGroupRepository.save(new GroupInfosEntity(UUID.randomUUID(), GROUP_1, Set.of(users.get(0), users.get(1_199))));
         connectionRepository.save(new ConnectionEntity(USER_SUB, LocalDateTime.now(), LocalDateTime.now(), true));
-        connectionRepository.save(new ConnectionEntity(USER_SUB, LocalDateTime.now().minusSeconds(5), LocalDateTime.now(), true));
-        connectionRepository.save(new ConnectionEntity(USER_SUB2, LocalDateTime.now(), LocalDateTime.now(), false));
 
-        connectionEntities = objectMapper.readValue(
-                mockMvc.perform(get("/" + UserAdminApi.API_VERSION + "/connections")
-                                .header("userId", ADMIN_USER)
-                                .header(ROLES_HEADER, USER_ADMIN_ROLE)
+        // several chunks, in the sub order
+        List<UserInfos> streamedUsers = objectMapper.readValue(getStreamed("/users/stream"), new TypeReference<>() { });
+        assertEquals(1_200, streamedUsers.size());
+        assertEquals(new UserInfos("user_0000", null, null, PROFILE_1, null, null, null, Set.of(GROUP_1)), streamedUsers.get(0));
+        assertEquals(new UserInfos("user_0001", null, null, null, null, null, null, Set.of()), streamedUsers.get(1));
+        assertEquals(Set.of(GROUP_1), streamedUsers.get(1_199).groups());
+
+        List<UserConnection> streamedConnections = objectMapper.readValue(getStreamed("/connections/stream"), new TypeReference<>() { });
+        assertEquals(List.of(USER_SUB), streamedConnections.stream().map(UserConnection::sub).toList());
+
+        mockMvc.perform(get("/" + UserAdminApi.API_VERSION + "/users/stream")
+                        .header("userId", NOT_ADMIN))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/" + UserAdminApi.API_VERSION + "/connections/stream")
+                        .header("userId", NOT_ADMIN))
+                .andExpect(status().isForbidden());
+    }
+
+    private String getStreamed(String path) throws Exception {
+        MvcResult result = mockMvc.perform(get("/" + UserAdminApi.API_VERSION + path)
+                        .header("userId", ADMIN_USER)
+                        .header(ROLES_HEADER, USER_ADMIN_ROLE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    @Test
+    void testGetUsersQuotas() throws Exception {
+        UserProfileEntity profile = userProfileRepository.save(new UserProfileEntity(UUID.randomUUID(), PROFILE_1, null, null, null, null, null, null, 5, 6, null, null, null));
+        userInfosRepository.save(new UserInfosEntity(UUID.randomUUID(), USER_SUB, profile, null));
+        userInfosRepository.save(new UserInfosEntity(UUID.randomUUID(), USER_SUB2, null, null));
+
+        List<UserQuota> quotas = objectMapper.readValue(
+                mockMvc.perform(post("/" + UserAdminApi.API_VERSION + "/quotas")
+                                .content(objectMapper.writeValueAsString(List.of(USER_SUB, USER_SUB2, USER_UNKNOWN)))
                                 .contentType(APPLICATION_JSON))
                         .andExpect(status().isOk())
                         .andReturn().getResponse().getContentAsString(),
                 new TypeReference<>() { });
-        assertEquals(2, connectionEntities.size());
 
-        mockMvc.perform(get("/" + UserAdminApi.API_VERSION + "/connections")
-                        .header("userId", NOT_ADMIN)
+        Integer defaultMaxCases = userAdminApplicationProps.getDefaultMaxAllowedCases();
+        Integer defaultMaxBuilds = userAdminApplicationProps.getDefaultMaxAllowedBuilds();
+        assertEquals(List.of(
+                new UserQuota(USER_SUB, PROFILE_1, 5, 6),
+                new UserQuota(USER_SUB2, UserProfile.DEFAULT_PROFILE_NAME, defaultMaxCases, defaultMaxBuilds),
+                new UserQuota(USER_UNKNOWN, UserProfile.DEFAULT_PROFILE_NAME, defaultMaxCases, defaultMaxBuilds)
+        ), quotas);
+
+        mockMvc.perform(post("/" + UserAdminApi.API_VERSION + "/quotas")
+                        .content("[]")
                         .contentType(APPLICATION_JSON))
-                .andExpect(status().isForbidden());
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetUserQuotaSnapshot() throws Exception {
+        UserProfileEntity profile = userProfileRepository.save(new UserProfileEntity(UUID.randomUUID(), PROFILE_1, null, null, null, null, null, null, 10, 6, null, null, null));
+        userInfosRepository.save(new UserInfosEntity(UUID.randomUUID(), USER_SUB, profile, null));
+
+        when(directoryService.getCasesCount(USER_SUB)).thenReturn(8);
+        UserQuotaSnapshot snapshot = getUserQuotaSnapshot(USER_SUB);
+        assertEquals(new UserQuotaSnapshot(USER_SUB, 10, 8, 6, 90, false), snapshot);
+
+        when(directoryService.getCasesCount(USER_SUB)).thenReturn(9);
+        assertTrue(getUserQuotaSnapshot(USER_SUB).casesAlertReached());
+
+        // cases count unavailable: no alert
+        when(directoryService.getCasesCount(USER_UNKNOWN)).thenReturn(null);
+        snapshot = getUserQuotaSnapshot(USER_UNKNOWN);
+        assertEquals(userAdminApplicationProps.getDefaultMaxAllowedCases(), snapshot.maxAllowedCases());
+        assertEquals(userAdminApplicationProps.getDefaultMaxAllowedBuilds(), snapshot.maxAllowedBuilds());
+        assertNull(snapshot.numberCasesUsed());
+        assertFalse(snapshot.casesAlertReached());
+    }
+
+    private UserQuotaSnapshot getUserQuotaSnapshot(String sub) throws Exception {
+        return objectMapper.readValue(
+                mockMvc.perform(get("/" + UserAdminApi.API_VERSION + "/users/{sub}/quotas", sub))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString(),
+                UserQuotaSnapshot.class);
     }
 
     private void createUser(String userName) throws Exception {
@@ -433,6 +761,30 @@ class UserAdminTest {
                 .andExpect(status().isForbidden());
     }
 
+    private ConnectionsPage getConnectionsPage(Map<String, String> params) throws Exception {
+        MockHttpServletRequestBuilder request = get("/" + UserAdminApi.API_VERSION + "/connections/page")
+                .header("userId", ADMIN_USER)
+                .header(ROLES_HEADER, USER_ADMIN_ROLE);
+        params.forEach(request::param);
+        return objectMapper.readValue(
+                mockMvc.perform(request)
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString(),
+                ConnectionsPage.class);
+    }
+
+    private UsersPage getUsersPage(Map<String, String> params) throws Exception {
+        MockHttpServletRequestBuilder request = get("/" + UserAdminApi.API_VERSION + "/users/page")
+                .header("userId", ADMIN_USER)
+                .header(ROLES_HEADER, USER_ADMIN_ROLE);
+        params.forEach(request::param);
+        return objectMapper.readValue(
+                mockMvc.perform(request)
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString(),
+                UsersPage.class);
+    }
+
     private UserProfile getUserProfile(String userName, HttpStatusCode status) throws Exception {
         String response = mockMvc.perform(get("/" + UserAdminApi.API_VERSION + "/users/" + userName + "/profile")
                                 .contentType(APPLICATION_JSON))
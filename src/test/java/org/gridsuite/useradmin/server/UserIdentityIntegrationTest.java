@@ -10,13 +10,17 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.gridsuite.useradmin.server.configuration.RestTemplateConfig;
 import org.gridsuite.useradmin.server.dto.UserIdentitiesResult;
 import org.gridsuite.useradmin.server.dto.UserIdentity;
 import org.gridsuite.useradmin.server.dto.UserInfos;
+import org.gridsuite.useradmin.server.dto.UsersPage;
 import org.gridsuite.useradmin.server.entity.UserInfosEntity;
 import org.gridsuite.useradmin.server.repository.UserGroupRepository;
 import org.gridsuite.useradmin.server.repository.UserInfosRepository;
 import org.gridsuite.useradmin.server.repository.UserProfileRepository;
+import org.gridsuite.useradmin.server.service.UserSearchIndex;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -39,6 +43,7 @@ import static org.gridsuite.useradmin.server.Utils.ROLES_HEADER;
 import static org.gridsuite.useradmin.server.utils.TestConstants.USER_ADMIN_ROLE;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -48,7 +53,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * @author Achour Berrahma <achour.berrahma at rte-france.com>
  */
 @AutoConfigureMockMvc
-@SpringBootTest(classes = {UserAdminApplication.class})
+@SpringBootTest(classes = {UserAdminApplication.class}, properties = "useradmin.http-client.read-timeout=1s")
 class UserIdentityIntegrationTest {
 
     private static WireMockServer wireMockServer;
@@ -68,6 +73,12 @@ class UserIdentityIntegrationTest {
     @Autowired
     private UserProfileRepository userProfileRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
     private static final String ADMIN_USER = "admin1";
     private static final String USER_SUB_1 = "user1";
     private static final String USER_SUB_2 = "user2";
@@ -229,4 +240,115 @@ class UserIdentityIntegrationTest {
         assertNull(userInfo.lastName());
     }
 
+    @Test
+    void testGetUserWhenIdentityServiceIsTooSlow() throws Exception {
+        userInfosRepository.save(new UserInfosEntity(UUID.randomUUID(), USER_SUB_1, null, null));
+
+        // longer than the read timeout
+        wireMockServer.stubFor(WireMock.get(urlEqualTo("/v1/users/identities/" + USER_SUB_1))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withFixedDelay(5000)
+                        .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(objectMapper.writeValueAsString(new UserIdentity(USER_SUB_1, "John", "Doe")))));
+
+        long start = System.nanoTime();
+        UserInfos userInfo = objectMapper.readValue(
+                mockMvc.perform(get("/" + UserAdminApi.API_VERSION + "/users/{sub}", USER_SUB_1)
+                                .header("userId", ADMIN_USER)
+                                .header(ROLES_HEADER, USER_ADMIN_ROLE)
+                                .contentType(APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString(),
+                new TypeReference<>() { });
+
+        assertTrue(System.nanoTime() - start < 4_000_000_000L);
+        assertEquals(USER_SUB_1, userInfo.sub());
+        assertNull(userInfo.firstName());
+        // the connection is given back to the pool
+        assertEquals(0, meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("httpclient", RestTemplateConfig.OUTBOUND_HTTP_CLIENT_METRICS_NAME)
+                .tag("state", "leased")
+                .gauge().value());
+    }
+
+    @Test
+    void testSearchUsersByFetchedIdentities() throws Exception {
+        userInfosRepository.save(new UserInfosEntity(UUID.randomUUID(), USER_SUB_1, null, null));
+        userInfosRepository.save(new UserInfosEntity(UUID.randomUUID(), USER_SUB_2, null, null));
+        userInfosRepository.save(new UserInfosEntity(UUID.randomUUID(), "jsmith", null, null));
+        // written directly in the repository
+        userSearchIndex.resync();
+        wireMockServer.stubFor(WireMock.get(urlPathEqualTo("/v1/users/identities"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(objectMapper.writeValueAsString(new UserIdentitiesResult(Map.of(
+                                USER_SUB_1, new UserIdentity(USER_SUB_1, "John", "Doe"),
+                                USER_SUB_2, new UserIdentity(USER_SUB_2, "Jane", "Smïth")), Map.of())))));
+
+        // the names aren't known before the identities are fetched
+        assertEquals(List.of(new UserIdentity("jsmith", null, null)), searchUsers("smi"));
+        mockMvc.perform(get("/" + UserAdminApi.API_VERSION + "/users")
+                        .header("userId", ADMIN_USER)
+                        .header(ROLES_HEADER, USER_ADMIN_ROLE))
+                .andExpect(status().isOk());
+
+        // accent insensitive, the beginning of a field first
+        assertEquals(List.of(new UserIdentity(USER_SUB_2, "Jane", "Smïth"), new UserIdentity("jsmith", null, null)), searchUsers("SMI"));
+        // shorter than a trigram: beginning of a field only
+        assertEquals(List.of(new UserIdentity("jsmith", null, null), new UserIdentity(USER_SUB_1, "John", "Doe"), new UserIdentity(USER_SUB_2, "Jane", "Smïth")), searchUsers("j"));
+        assertEquals(List.of(), searchUsers("oe"));
+        assertEquals(List.of(), searchUsers("xyz"));
+
+        mockMvc.perform(delete("/" + UserAdminApi.API_VERSION + "/users/{sub}", USER_SUB_2)
+                        .header("userId", ADMIN_USER)
+                        .header(ROLES_HEADER, USER_ADMIN_ROLE))
+                .andExpect(status().isNoContent());
+        assertEquals(List.of(new UserIdentity("jsmith", null, null)), searchUsers("smi"));
+
+        mockMvc.perform(get("/" + UserAdminApi.API_VERSION + "/users/search").param("q", "smi")
+                        .header("userId", "notAdmin"))
+                .andExpect(status().isForbidden());
+    }
+
+    private List<UserIdentity> searchUsers(String query) throws Exception {
+        return objectMapper.readValue(
+                mockMvc.perform(get("/" + UserAdminApi.API_VERSION + "/users/search").param("q", query)
+                                .header("userId", ADMIN_USER)
+                                .header(ROLES_HEADER, USER_ADMIN_ROLE))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString(),
+                new TypeReference<>() { });
+    }
+
+    @Test
+    void testGetUsersPageEnrichesOnlyThePage() throws Exception {
+        userInfosRepository.save(new UserInfosEntity(UUID.randomUUID(), USER_SUB_1, null, null));
+        userInfosRepository.save(new UserInfosEntity(UUID.randomUUID(), USER_SUB_2, null, null));
+
+        UserIdentitiesResult identitiesResult = new UserIdentitiesResult(
+                Map.of(USER_SUB_1, new UserIdentity(USER_SUB_1, "John", "Doe")),
+                Map.of()
+        );
+        wireMockServer.stubFor(WireMock.get(urlPathEqualTo("/v1/users/identities"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(objectMapper.writeValueAsString(identitiesResult))));
+
+        UsersPage page = objectMapper.readValue(
+                mockMvc.perform(get("/" + UserAdminApi.API_VERSION + "/users/page")
+                                .param("size", "1")
+                                .header("userId", ADMIN_USER)
+                                .header(ROLES_HEADER, USER_ADMIN_ROLE))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString(),
+                UsersPage.class);
+
+        assertEquals(1, page.users().size());
+        assertEquals("John", page.users().get(0).firstName());
+        wireMockServer.verify(1, getRequestedFor(urlPathEqualTo("/v1/users/identities"))
+                .withQueryParam("subs", equalTo(USER_SUB_1)));
+    }
 }
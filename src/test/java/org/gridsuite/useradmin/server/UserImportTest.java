@@ -0,0 +1,174 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.gridsuite.useradmin.server.controller.UserAdminController;
+import org.gridsuite.useradmin.server.dto.UserImportIssue;
+import org.gridsuite.useradmin.server.dto.UserImportReport;
+import org.gridsuite.useradmin.server.dto.UserImportRow;
+import org.gridsuite.useradmin.server.entity.GroupInfosEntity;
+import org.gridsuite.useradmin.server.entity.UserInfosEntity;
+import org.gridsuite.useradmin.server.entity.UserProfileEntity;
+import org.gridsuite.useradmin.server.repository.UserGroupRepository;
+import org.gridsuite.useradmin.server.repository.UserInfosRepository;
+import org.gridsuite.useradmin.server.repository.UserProfileRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.stream.binder.test.TestChannelBinderConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.gridsuite.useradmin.server.Utils.ROLES_HEADER;
+import static org.gridsuite.useradmin.server.utils.TestConstants.USER_ADMIN_ROLE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(classes = {UserAdminApplication.class, TestChannelBinderConfiguration.class})
+class UserImportTest {
+    private static final String ADMIN_USER = "admin1";
+    private static final String PROFILE_1 = "profile_1";
+    private static final String GROUP_1 = "group_1";
+    private static final String GROUP_2 = "group_2";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserInfosRepository userInfosRepository;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private UserGroupRepository userGroupRepository;
+
+    @AfterEach
+    void cleanDB() {
+        userGroupRepository.deleteAll();
+        userInfosRepository.deleteAll();
+        userProfileRepository.deleteAll();
+    }
+
+    @Test
+    void testImportJson() throws Exception {
+        UserProfileEntity profile = userProfileRepository.save(new UserProfileEntity(UUID.randomUUID(), PROFILE_1, null, null, null, null, null, null, 15, 5, null, null, null));
+        userGroupRepository.save(new GroupInfosEntity(GROUP_1));
+        UUID existingId = userInfosRepository.save(new UserInfosEntity("existing")).getId();
+        List<UserImportRow> rows = List.of(
+            new UserImportRow("user_1", PROFILE_1, Set.of(GROUP_1)),
+            new UserImportRow("user_2", null, null),
+            new UserImportRow("existing", null, Set.of(GROUP_1)),
+            new UserImportRow("user_1", null, null),
+            new UserImportRow("user_3", null, Set.of("unknown_group")),
+            new UserImportRow(" ", null, null));
+
+        UserImportReport report = importUsers(APPLICATION_JSON_VALUE, "REPORT", objectMapper.writeValueAsString(rows));
+        assertEquals(new UserImportReport(2, 2, 2, List.of(
+            new UserImportIssue(3, "existing", UserImportIssue.Status.DUPLICATE, "The user already exists"),
+            new UserImportIssue(4, "user_1", UserImportIssue.Status.DUPLICATE, "The user is repeated in the import"),
+            new UserImportIssue(5, "user_3", UserImportIssue.Status.FAILED, "Group 'unknown_group' was not found"),
+            new UserImportIssue(6, null, UserImportIssue.Status.FAILED, "The sub is missing")), false), report);
+
+        assertEquals(List.of("user_1"), userInfosRepository.findSubsByProfileId(profile.getId()));
+        UUID userId = (UUID) userInfosRepository.findIdAndSubBySubIn(List.of("user_1")).get(0)[0];
+        assertEquals(List.of(GROUP_1), userGroupRepository.findUserIdAndGroupNameByUserIdIn(List.of(userId)).stream().map(row -> (String) row[1]).toList());
+        assertTrue(userInfosRepository.existsBySub("user_2"));
+        // the existing user is left untouched
+        assertEquals(List.of(), userGroupRepository.findUserIdAndGroupNameByUserIdIn(List.of(existingId)));
+        assertFalse(userInfosRepository.existsBySub("user_3"));
+
+        // the duplicates are only counted
+        report = importUsers(APPLICATION_JSON_VALUE, "SKIP", objectMapper.writeValueAsString(rows));
+        assertEquals(0, report.created());
+        assertEquals(4, report.skipped());
+        assertEquals(List.of(UserImportIssue.Status.FAILED, UserImportIssue.Status.FAILED),
+            report.issues().stream().map(UserImportIssue::status).toList());
+    }
+
+    @Test
+    void testImportCsvByBatches() throws Exception {
+        userGroupRepository.save(new GroupInfosEntity(GROUP_1));
+        userGroupRepository.save(new GroupInfosEntity(GROUP_2));
+        String csv = "sub,groups\n" + IntStream.range(0, 2_500)
+            .mapToObj(i -> i % 2 == 0 ? "user_" + i + "," : "\"user_" + i + "\",\"" + GROUP_1 + " | " + GROUP_2 + "\"")
+            .collect(Collectors.joining("\n"));
+
+        UserImportReport report = importUsers(UserAdminController.TEXT_CSV_VALUE, "SKIP", csv);
+        assertEquals(new UserImportReport(2_500, 0, 0, List.of(), false), report);
+        assertEquals(2_500, userInfosRepository.count());
+        Map<String, Long> membersByGroup = userGroupRepository.findUserIdAndGroupNameByUserIdIn(
+                userInfosRepository.findAll().stream().map(UserInfosEntity::getId).toList())
+            .stream().collect(Collectors.groupingBy(row -> (String) row[1], Collectors.counting()));
+        assertEquals(Map.of(GROUP_1, 1_250L, GROUP_2, 1_250L), membersByGroup);
+    }
+
+    @Test
+    void testTruncatedReportKeepsTheFirstRows() throws Exception {
+        userInfosRepository.save(new UserInfosEntity("existing"));
+        // the existing user is only detected when its batch is flushed, after all the failed rows were reported
+        String csv = "sub,profileName\nexisting,\n" + IntStream.range(0, 1_500)
+            .mapToObj(i -> "user_" + i + ",unknown_profile")
+            .collect(Collectors.joining("\n"));
+
+        UserImportReport report = importUsers(UserAdminController.TEXT_CSV_VALUE, "REPORT", csv);
+        assertEquals(0, report.created());
+        assertEquals(1, report.skipped());
+        assertEquals(1_500, report.failed());
+        assertTrue(report.issuesTruncated());
+        assertEquals(1_000, report.issues().size());
+        assertEquals(new UserImportIssue(1, "existing", UserImportIssue.Status.DUPLICATE, "The user already exists"), report.issues().get(0));
+        assertEquals(LongStream.rangeClosed(1, 1_000).boxed().toList(), report.issues().stream().map(UserImportIssue::row).toList());
+    }
+
+    @Test
+    void testInvalidImports() throws Exception {
+        performImport(APPLICATION_JSON_VALUE, "SKIP", "{\"sub\": \"user_1\"}").andExpect(status().isBadRequest());
+        performImport(APPLICATION_JSON_VALUE, "SKIP", "[\"user_1\"]").andExpect(status().isBadRequest());
+        performImport(UserAdminController.TEXT_CSV_VALUE, "SKIP", "profileName\nprofile_1").andExpect(status().isBadRequest());
+        assertEquals(0, userInfosRepository.count());
+
+        mockMvc.perform(post("/" + UserAdminApi.API_VERSION + "/users/import")
+                        .header("userId", "notAdmin")
+                        .contentType(APPLICATION_JSON_VALUE)
+                        .content("[]"))
+                .andExpect(status().isForbidden());
+    }
+
+    private UserImportReport importUsers(String contentType, String mode, String content) throws Exception {
+        return objectMapper.readValue(performImport(contentType, mode, content)
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString(),
+                UserImportReport.class);
+    }
+
+    private ResultActions performImport(String contentType, String mode, String content) throws Exception {
+        return mockMvc.perform(post("/" + UserAdminApi.API_VERSION + "/users/import")
+                .param("mode", mode)
+                .header("userId", ADMIN_USER)
+                .header(ROLES_HEADER, USER_ADMIN_ROLE)
+                .contentType(contentType)
+                .content(content));
+    }
+}
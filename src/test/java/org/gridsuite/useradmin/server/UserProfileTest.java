@@ -13,6 +13,7 @@ import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.matching.StringValuePattern;
 import org.gridsuite.useradmin.server.dto.ElementAttributes;
+import org.gridsuite.useradmin.server.dto.ProfileReassignment;
 import org.gridsuite.useradmin.server.dto.UserProfile;
 import org.gridsuite.useradmin.server.entity.UserInfosEntity;
 import org.gridsuite.useradmin.server.entity.UserProfileEntity;
@@ -36,6 +37,7 @@ import org.springframework.test.web.servlet.MvcResult;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -241,6 +243,85 @@ class UserProfileTest {
         assertEquals(defaultMaxAllowedBuilds, result.getResponse().getContentAsString());
     }
 
+    @Test
+    void testConditionalGetUserProfile() throws Exception {
+        UUID profileUuid = createProfile(PROFILE_1, ADMIN_USER, USER_ADMIN_ROLE, 15, 5, HttpStatus.CREATED);
+        userInfosRepository.save(new UserInfosEntity(UUID.randomUUID(), ADMIN_USER, userProfileRepository.findById(profileUuid).orElseThrow(), null));
+
+        MvcResult result = mockMvc.perform(get("/" + UserAdminApi.API_VERSION + "/users/{sub}/profile", ADMIN_USER))
+                .andExpect(status().isOk())
+                .andReturn();
+        String eTag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+        assertEquals("no-cache", result.getResponse().getHeader(HttpHeaders.CACHE_CONTROL));
+
+        // unchanged profile: no body
+        result = mockMvc.perform(get("/" + UserAdminApi.API_VERSION + "/users/{sub}/profile", ADMIN_USER)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+        assertEquals("", result.getResponse().getContentAsString());
+
+        // an update bumps the profile version
+        updateProfile(new UserProfile(profileUuid, PROFILE_1, null, null, null, null, null, null, null, 30, 5, null, null, null), ADMIN_USER, USER_ADMIN_ROLE, HttpStatus.OK);
+        result = mockMvc.perform(get("/" + UserAdminApi.API_VERSION + "/users/{sub}/profile", ADMIN_USER)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertNotEquals(eTag, result.getResponse().getHeader(HttpHeaders.ETAG));
+        assertEquals(30, objectMapper.readValue(result.getResponse().getContentAsString(), UserProfile.class).maxAllowedCases());
+
+        // the max cases are validated by their value
+        mockMvc.perform(get("/" + UserAdminApi.API_VERSION + "/users/{sub}/profile/max-cases", ADMIN_USER)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"30\""))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/" + UserAdminApi.API_VERSION + "/users/{sub}/profile/max-builds", ADMIN_USER)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"10\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testReassignUsers() throws Exception {
+        UUID profile1 = createProfile(PROFILE_1, ADMIN_USER, USER_ADMIN_ROLE, 15, 5, HttpStatus.CREATED);
+        UUID profile2 = createProfile(PROFILE_2, ADMIN_USER, USER_ADMIN_ROLE, 30, 5, HttpStatus.CREATED);
+        UserProfileEntity profile1Entity = userProfileRepository.findById(profile1).orElseThrow();
+        userInfosRepository.save(new UserInfosEntity(UUID.randomUUID(), "user_1", profile1Entity, null));
+        userInfosRepository.save(new UserInfosEntity(UUID.randomUUID(), "user_2", profile1Entity, null));
+        userInfosRepository.save(new UserInfosEntity(UUID.randomUUID(), "user_3", null, null));
+        Long user1Version = userInfosRepository.findBySub("user_1").orElseThrow().getVersion();
+
+        // unknown and already reassigned users are not counted
+        assertEquals(2, reassignUsers(profile2, new ProfileReassignment(List.of("user_1", "user_3", "unknown"), null), HttpStatus.OK));
+        assertEquals(0, reassignUsers(profile2, new ProfileReassignment(List.of("user_1"), null), HttpStatus.OK));
+        assertEquals(user1Version + 1, userInfosRepository.findBySub("user_1").orElseThrow().getVersion());
+        assertEquals(List.of("user_2"), userInfosRepository.findSubsByProfileId(profile1));
+
+        // all the users of a profile
+        assertEquals(2, reassignUsers(profile1, new ProfileReassignment(null, profile2), HttpStatus.OK));
+        assertEquals(Set.of("user_1", "user_2", "user_3"), Set.copyOf(userInfosRepository.findSubsByProfileId(profile1)));
+        assertEquals(15, userInfosRepository.findQuotaBySub("user_3").orElseThrow().maxAllowedCases());
+
+        reassignUsers(profile1, new ProfileReassignment(List.of("user_1"), profile2), HttpStatus.BAD_REQUEST);
+        reassignUsers(profile1, new ProfileReassignment(null, null), HttpStatus.BAD_REQUEST);
+        reassignUsers(UUID.randomUUID(), new ProfileReassignment(List.of("user_1"), null), HttpStatus.NOT_FOUND);
+        mockMvc.perform(put("/" + UserAdminApi.API_VERSION + "/profiles/{profileUuid}/users", profile2)
+                        .content(objectWriter.writeValueAsString(new ProfileReassignment(List.of("user_1"), null)))
+                        .contentType(APPLICATION_JSON)
+                        .header("userId", NOT_ADMIN))
+                .andExpect(status().isForbidden());
+    }
+
+    private Integer reassignUsers(UUID profileUuid, ProfileReassignment reassignment, HttpStatusCode status) throws Exception {
+        String response = mockMvc.perform(put("/" + UserAdminApi.API_VERSION + "/profiles/{profileUuid}/users", profileUuid)
+                        .content(objectWriter.writeValueAsString(reassignment))
+                        .contentType(APPLICATION_JSON)
+                        .header("userId", ADMIN_USER)
+                        .header(ROLES_HEADER, USER_ADMIN_ROLE))
+                .andExpect(status().is(status.value()))
+                .andReturn().getResponse().getContentAsString();
+        return status == HttpStatus.OK ? Integer.valueOf(response) : null;
+    }
+
     private void updateProfile(boolean validParameters) throws Exception {
         UUID loadFlowParametersUuid = UUID.fromString("11111111-9594-4e55-8ec7-07ea965d24eb");
         UUID securityAnalysisParametersUuid = UUID.fromString("22222222-9594-4e55-8ec7-07ea965d24eb");
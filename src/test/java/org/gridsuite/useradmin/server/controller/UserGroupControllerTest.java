@@ -9,12 +9,15 @@ package org.gridsuite.useradmin.server.controller;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
 import org.gridsuite.useradmin.server.dto.UserGroup;
 import org.gridsuite.useradmin.server.dto.UserInfos;
 import org.gridsuite.useradmin.server.entity.UserInfosEntity;
 import org.gridsuite.useradmin.server.repository.UserGroupRepository;
 import org.gridsuite.useradmin.server.repository.UserInfosRepository;
 import org.gridsuite.useradmin.server.service.DirectoryService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,12 +25,17 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.gridsuite.useradmin.server.Utils.ROLES_HEADER;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -67,9 +75,15 @@ class UserGroupControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @MockitoBean
     private DirectoryService directoryService;
 
@@ -234,6 +248,70 @@ class UserGroupControllerTest {
         checkUserGroup(USER_E, null);
     }
 
+    @Test
+    void testNoOpUpdateGroupDoesNotRewriteMembers() throws Exception {
+        Set<String> subs = IntStream.range(0, 10).mapToObj(i -> "user_" + i).collect(Collectors.toSet());
+        subs.forEach(sub -> userInfosRepository.save(new UserInfosEntity(UUID.randomUUID(), sub, null, null)));
+        createGroup(GROUP);
+        UUID groupId = getGroup(GROUP).id();
+        updateGroup(groupId, GROUP, subs);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        updateGroup(groupId, GROUP, subs);
+        // the group and its members: no write, not one query per user
+        assertTrue(statistics.getPrepareStatementCount() <= 2);
+        assertEquals(0, statistics.getEntityUpdateCount());
+        assertEquals(subs, getGroup(GROUP).users());
+    }
+
+    @Test
+    void testAddAndRemoveMembers() throws Exception {
+        userInfosRepository.save(new UserInfosEntity(UUID.randomUUID(), USER_A, null, null));
+        userInfosRepository.save(new UserInfosEntity(UUID.randomUUID(), USER_B, null, null));
+        userInfosRepository.save(new UserInfosEntity(UUID.randomUUID(), USER_C, null, null));
+        createGroup(GROUP);
+        UUID groupId = getGroup(GROUP).id();
+
+        assertEquals(2, updateMembers(post(API_BASE_PATH + "/groups/{groupUuid}/users", groupId), List.of(USER_A, USER_B)));
+        // the current members are ignored
+        assertEquals(1, updateMembers(post(API_BASE_PATH + "/groups/{groupUuid}/users", groupId), List.of(USER_A, USER_C)));
+        assertEquals(Set.of(USER_A, USER_B, USER_C), getGroup(GROUP).users());
+        // a member added concurrently, after the current members were read, is skipped
+        UUID userAId = userInfosRepository.findBySub(USER_A).orElseThrow().getId();
+        assertEquals(0, new TransactionTemplate(transactionManager).execute(status -> userGroupRepository.insertMemberships(groupId, List.of(userAId))));
+
+        // nothing is added if a user is unknown
+        performMembersUpdate(post(API_BASE_PATH + "/groups/{groupUuid}/users", groupId), List.of(USER_D)).andExpect(status().isNotFound());
+        performMembersUpdate(post(API_BASE_PATH + "/groups/{groupUuid}/users", UUID.randomUUID()), List.of(USER_A)).andExpect(status().isNotFound());
+
+        assertEquals(1, updateMembers(delete(API_BASE_PATH + "/groups/{groupUuid}/users", groupId), List.of(USER_B, USER_D)));
+        assertEquals(0, updateMembers(delete(API_BASE_PATH + "/groups/{groupUuid}/users", groupId), List.of(USER_B)));
+        assertEquals(Set.of(USER_A, USER_C), getGroup(GROUP).users());
+        checkUserGroup(USER_A, GROUP);
+        checkUserGroup(USER_B, null);
+
+        mockMvc.perform(post(API_BASE_PATH + "/groups/{groupUuid}/users", groupId)
+                        .content(objectMapper.writeValueAsString(List.of(USER_B)))
+                        .contentType(APPLICATION_JSON)
+                        .header("userId", USER_B))
+                .andExpect(status().isForbidden());
+    }
+
+    private Integer updateMembers(MockHttpServletRequestBuilder request, List<String> subs) throws Exception {
+        return Integer.valueOf(performMembersUpdate(request, subs)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private ResultActions performMembersUpdate(MockHttpServletRequestBuilder request, List<String> subs) throws Exception {
+        return mockMvc.perform(request
+                .content(objectMapper.writeValueAsString(subs))
+                .contentType(APPLICATION_JSON)
+                .header("userId", ADMIN_USER)
+                .header(ROLES_HEADER, USER_ADMIN_ROLE));
+    }
+
     @Test
     void testGetGroupsForNonExistentUser() throws Exception {
         List<UserGroup> groups = getUserGroups("nonExistentUser");
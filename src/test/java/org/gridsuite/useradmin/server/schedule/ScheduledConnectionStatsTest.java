@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.schedule;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.gridsuite.useradmin.server.UserAdminApi;
+import org.gridsuite.useradmin.server.UserAdminApplication;
+import org.gridsuite.useradmin.server.dto.DailyConnectionStats;
+import org.gridsuite.useradmin.server.entity.ConnectionEventEntity;
+import org.gridsuite.useradmin.server.repository.ConnectionDailyStatsRepository;
+import org.gridsuite.useradmin.server.repository.ConnectionEventRepository;
+import org.gridsuite.useradmin.server.repository.ConnectionRepository;
+import org.gridsuite.useradmin.server.service.ConnectionsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.stream.binder.test.TestChannelBinderConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.gridsuite.useradmin.server.Utils.ROLES_HEADER;
+import static org.gridsuite.useradmin.server.utils.TestConstants.USER_ADMIN_ROLE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(classes = {UserAdminApplication.class, TestChannelBinderConfiguration.class})
+class ScheduledConnectionStatsTest {
+
+    @Autowired
+    private ScheduledConnectionStats scheduledConnectionStats;
+
+    @Autowired
+    private ConnectionsService connectionsService;
+
+    @Autowired
+    private ConnectionEventRepository connectionEventRepository;
+
+    @Autowired
+    private ConnectionDailyStatsRepository connectionDailyStatsRepository;
+
+    @Autowired
+    private ConnectionRepository connectionRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void cleanDB() {
+        connectionEventRepository.deleteAll();
+        connectionDailyStatsRepository.deleteAll();
+        connectionRepository.deleteAll();
+    }
+
+    @Test
+    void testRollupConnectionStats() throws Exception {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        LocalDateTime longAgo = today.minusDays(60).atTime(10, 0);
+        LocalDateTime yesterday = today.minusDays(1).atTime(10, 0);
+        connectionEventRepository.saveAll(List.of(
+            new ConnectionEventEntity("user_A", longAgo, true),
+            new ConnectionEventEntity("user_A", yesterday, false),
+            new ConnectionEventEntity("user_A", yesterday.plusMinutes(1), true),
+            new ConnectionEventEntity("user_B", yesterday, true),
+            new ConnectionEventEntity("user_B", yesterday.plusMinutes(1), true),
+            new ConnectionEventEntity("user_C", yesterday, false),
+            // coalesced by the connection buffer
+            new ConnectionEventEntity("user_C", yesterday.plusMinutes(2), true, 3)));
+        connectionsService.recordConnectionAttempt("user_A", true);
+
+        scheduledConnectionStats.rollupConnectionStats();
+        assertEquals(List.of(
+                new DailyConnectionStats(longAgo.toLocalDate(), 1, 1, 0, 1, 0),
+                new DailyConnectionStats(yesterday.toLocalDate(), 3, 3, 2, 6, 2),
+                new DailyConnectionStats(today, 1, 1, 0, 1, 0)),
+            getDailyStats(longAgo.toLocalDate(), today));
+
+        // only the latest days are recomputed, the events beyond the retention are purged once rolled up
+        connectionsService.recordConnectionAttempt("user_B", false);
+        scheduledConnectionStats.rollupConnectionStats();
+        assertEquals(List.of(
+                new DailyConnectionStats(yesterday.toLocalDate(), 3, 3, 2, 6, 2),
+                new DailyConnectionStats(today, 2, 1, 1, 1, 1)),
+            getDailyStats(yesterday.toLocalDate(), today));
+        assertEquals(new DailyConnectionStats(longAgo.toLocalDate(), 1, 1, 0, 1, 0),
+            getDailyStats(longAgo.toLocalDate(), longAgo.toLocalDate()).get(0));
+        assertEquals(8, connectionEventRepository.count());
+    }
+
+    @Test
+    void testGetDailyStatsForbidden() throws Exception {
+        mockMvc.perform(get("/" + UserAdminApi.API_VERSION + "/connections/daily-stats")
+                        .param("from", "2026-01-01")
+                        .param("to", "2026-01-31")
+                        .header("userId", "not_admin"))
+                .andExpect(status().isForbidden());
+    }
+
+    private List<DailyConnectionStats> getDailyStats(LocalDate from, LocalDate to) throws Exception {
+        return objectMapper.readValue(
+                mockMvc.perform(get("/" + UserAdminApi.API_VERSION + "/connections/daily-stats")
+                                .param("from", from.toString())
+                                .param("to", to.toString())
+                                .header("userId", "admin1")
+                                .header(ROLES_HEADER, USER_ADMIN_ROLE))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString(),
+                new TypeReference<>() { });
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.service;
+
+import org.gridsuite.useradmin.server.entity.GroupInfosEntity;
+import org.gridsuite.useradmin.server.entity.UserInfosEntity;
+import org.gridsuite.useradmin.server.error.UserAdminException;
+import org.gridsuite.useradmin.server.repository.UserGroupRepository;
+import org.gridsuite.useradmin.server.repository.UserInfosRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the deletion of users one by one through the entities with the set-based deletion.
+ * Run with {@code mvn test -Dtest=BulkUserDeletionBenchmarkTest -Dbenchmark=true}.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BulkUserDeletionBenchmarkTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkUserDeletionBenchmarkTest.class);
+
+    private static final int USERS = 2_000;
+    private static final int GROUPS = 10;
+    private static final int RUNS = 3;
+
+    @Autowired
+    private UserInfosRepository userInfosRepository;
+
+    @Autowired
+    private UserGroupRepository userGroupRepository;
+
+    @Autowired
+    private UserAdminService userAdminService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private AdminRightService adminRightService;
+
+    @AfterEach
+    void cleanDB() {
+        userGroupRepository.deleteAll();
+        userInfosRepository.deleteAll();
+    }
+
+    @Test
+    void benchmarkBulkDelete() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // previous implementation: one lookup per user, detached from its groups in memory, then a derived delete
+        Consumer<List<String>> loop = subs -> transaction.executeWithoutResult(status -> {
+            subs.forEach(sub -> {
+                UserInfosEntity user = userInfosRepository.findBySub(sub).orElseThrow(() -> UserAdminException.userNotFound(sub));
+                if (user.getGroups() != null) {
+                    user.getGroups().forEach(group -> group.getUsers().removeIf(member -> member.getSub().equals(sub)));
+                }
+            });
+            userInfosRepository.deleteAllBySubIn(subs);
+        });
+        Consumer<List<String>> setBased = userAdminService::delete;
+
+        run("loop", loop);
+        run("set-based", setBased);
+    }
+
+    private void run(String name, Consumer<List<String>> delete) {
+        for (int i = 0; i < RUNS; i++) {
+            List<String> subs = createUsers();
+            long start = System.nanoTime();
+            delete.accept(subs);
+            long elapsed = System.nanoTime() - start;
+            assertEquals(0, userInfosRepository.count());
+            LOGGER.info("{}: {} users deleted in {} ms", name, USERS, elapsed / 1_000_000);
+            userGroupRepository.deleteAll();
+        }
+    }
+
+    private List<String> createUsers() {
+        List<UserInfosEntity> users = userInfosRepository.saveAll(IntStream.range(0, USERS)
+            .mapToObj(i -> new UserInfosEntity(UUID.randomUUID(), "bench_user_" + i, null, null))
+            .toList());
+        // each user in one of the groups
+        for (int g = 0; g < GROUPS; g++) {
+            int group = g;
+            Set<UserInfosEntity> members = new HashSet<>(IntStream.range(0, USERS).filter(i -> i % GROUPS == group).mapToObj(users::get).toList());
+            userGroupRepository.save(new GroupInfosEntity(UUID.randomUUID(), "bench_group_" + g, members));
+        }
+        return users.stream().map(UserInfosEntity::getSub).toList();
+    }
+}
@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.gridsuite.useradmin.server.UserAdminApplicationProps;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CircuitBreakerTest {
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testOpensOnFailureRateThenProbes() {
+        CircuitBreaker circuitBreaker = createCircuitBreaker(2);
+        assertEquals("ok", circuitBreaker.call(() -> "ok"));
+        assertThrows(HttpServerErrorException.class, () -> circuitBreaker.call(CircuitBreakerTest::serverError));
+        assertThrows(HttpServerErrorException.class, () -> circuitBreaker.call(CircuitBreakerTest::serverError));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        // 3 failures out of the 4 last calls
+        assertThrows(HttpServerErrorException.class, () -> circuitBreaker.call(CircuitBreakerTest::serverError));
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        // the call isn't made
+        assertThrows(CircuitBreaker.CallNotPermittedException.class, () -> circuitBreaker.call(() -> "ok"));
+        assertEquals(1, meterRegistry.get(CircuitBreaker.REJECTED_METER).tag("reason", "circuit").counter().count());
+
+        // a failed probe reopens the circuit
+        clock.addAndGet(OPEN_DURATION.toNanos());
+        assertThrows(HttpServerErrorException.class, () -> circuitBreaker.call(CircuitBreakerTest::serverError));
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertThrows(CircuitBreaker.CallNotPermittedException.class, () -> circuitBreaker.call(() -> "ok"));
+
+        // a successful one closes it
+        clock.addAndGet(OPEN_DURATION.toNanos());
+        assertEquals("ok", circuitBreaker.call(() -> "ok"));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+        assertEquals(2, transitions("CLOSED", "OPEN") + transitions("HALF_OPEN", "OPEN"));
+        assertEquals(2, transitions("OPEN", "HALF_OPEN"));
+        assertEquals(1, transitions("HALF_OPEN", "CLOSED"));
+        assertEquals(0, meterRegistry.get(CircuitBreaker.STATE_METER).gauge().value());
+    }
+
+    @Test
+    void testProbeThrowingAnErrorReopensTheCircuit() {
+        CircuitBreaker circuitBreaker = createCircuitBreaker(2);
+        for (int i = 0; i < 3; i++) {
+            assertThrows(HttpServerErrorException.class, () -> circuitBreaker.call(CircuitBreakerTest::serverError));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        clock.addAndGet(OPEN_DURATION.toNanos());
+        assertThrows(StackOverflowError.class, () -> circuitBreaker.call(() -> {
+            throw new StackOverflowError();
+        }));
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        // the probe has been released: the next one is made
+        clock.addAndGet(OPEN_DURATION.toNanos());
+        assertEquals("ok", circuitBreaker.call(() -> "ok"));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void testClientErrorsArentFailures() {
+        CircuitBreaker circuitBreaker = createCircuitBreaker(2);
+        for (int i = 0; i < 10; i++) {
+            assertThrows(HttpClientErrorException.class, () -> circuitBreaker.call(() -> {
+                throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+            }));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void testBulkheadRejectsBeyondMaxConcurrentCalls() throws Exception {
+        CircuitBreaker circuitBreaker = createCircuitBreaker(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> circuitBreaker.call(() -> {
+                started.countDown();
+                awaitUninterruptibly(release);
+                return "ok";
+            }));
+            started.await();
+            assertThrows(CircuitBreaker.CallNotPermittedException.class, () -> circuitBreaker.call(() -> "ok"));
+            release.countDown();
+        }
+        assertEquals("ok", circuitBreaker.call(() -> "ok"));
+        assertEquals(1, meterRegistry.get(CircuitBreaker.REJECTED_METER).tag("reason", "bulkhead").counter().count());
+        // a rejection by the bulkhead isn't a failure of the server
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    private CircuitBreaker createCircuitBreaker(int maxConcurrentCalls) {
+        UserAdminApplicationProps.CircuitBreakerSpec spec = new UserAdminApplicationProps.CircuitBreakerSpec();
+        spec.setFailureRateThreshold(75);
+        spec.setSlidingWindowSize(4);
+        spec.setMinimumCalls(3);
+        spec.setOpenDuration(OPEN_DURATION);
+        spec.setMaxConcurrentCalls(maxConcurrentCalls);
+        spec.setMaxWait(Duration.ofMillis(50));
+        return new CircuitBreaker("test", spec, meterRegistry, clock::get);
+    }
+
+    private double transitions(String from, String to) {
+        var counter = meterRegistry.find(CircuitBreaker.TRANSITIONS_METER).tag("from", from).tag("to", to).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String serverError() {
+        throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.gridsuite.useradmin.server.UserAdminApi;
+import org.gridsuite.useradmin.server.entity.ConnectionEntity;
+import org.gridsuite.useradmin.server.entity.ConnectionEventEntity;
+import org.gridsuite.useradmin.server.repository.ConnectionEventRepository;
+import org.gridsuite.useradmin.server.repository.ConnectionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+    "useradmin.connection-buffer.enabled=true",
+    "useradmin.connection-buffer.capacity=2",
+    "useradmin.connection-buffer.flush-interval=1h"
+})
+class ConnectionAttemptBufferTest {
+    private static final String RECORD_CONNECTION_URL = "/" + UserAdminApi.API_VERSION + "/users/{sub}/record-connection";
+    private static final String USER_A = "user_A";
+    private static final String USER_B = "user_B";
+    private static final String USER_C = "user_C";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConnectionRepository connectionRepository;
+
+    @Autowired
+    private ConnectionEventRepository connectionEventRepository;
+
+    @Autowired
+    private ConnectionAttemptBuffer connectionAttemptBuffer;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void cleanDB() {
+        connectionAttemptBuffer.flush();
+        connectionRepository.deleteAll();
+        connectionEventRepository.deleteAll();
+    }
+
+    @Test
+    void testAttemptsCoalescedUntilFlush() throws Exception {
+        recordConnection(USER_A, true);
+        recordConnection(USER_A, true);
+        recordConnection(USER_A, false);
+        recordConnection(USER_B, true);
+        assertEquals(0, connectionRepository.count());
+        assertEquals(2.0, meterRegistry.get(ConnectionAttemptBuffer.BUFFER_SIZE_METER).gauge().value());
+
+        connectionAttemptBuffer.flush();
+        List<ConnectionEntity> connectionsA = connectionRepository.findBySub(USER_A);
+        assertEquals(1, connectionsA.size());
+        assertFalse(connectionsA.get(0).getConnectionAccepted());
+        assertTrue(connectionsA.get(0).getFirstConnexionDate().isBefore(connectionsA.get(0).getLastConnexionDate()));
+        assertEquals(1, connectionRepository.findBySub(USER_B).size());
+        // every attempt is still counted, by outcome
+        assertEquals(Map.of(USER_A + ":true", 2L, USER_A + ":false", 1L, USER_B + ":true", 1L),
+            connectionEventRepository.findAll().stream().collect(Collectors.toMap(
+                event -> event.getSub() + ":" + event.isAccepted(), ConnectionEventEntity::getAttempts)));
+
+        // an existing connection is updated
+        recordConnection(USER_B, false);
+        connectionAttemptBuffer.flush();
+        List<ConnectionEntity> connectionsB = connectionRepository.findBySub(USER_B);
+        assertEquals(1, connectionsB.size());
+        assertFalse(connectionsB.get(0).getConnectionAccepted());
+        assertTrue(meterRegistry.get(ConnectionAttemptBuffer.FLUSH_METER).timer().count() >= 2);
+    }
+
+    @Test
+    void testFullBufferWritesSynchronously() throws Exception {
+        double overflowBefore = meterRegistry.get(ConnectionAttemptBuffer.OVERFLOW_METER).counter().count();
+        recordConnection(USER_A, true);
+        recordConnection(USER_B, true);
+
+        // buffer full: written by the request
+        recordConnection(USER_C, true);
+        assertEquals(1, connectionRepository.findBySub(USER_C).size());
+        assertEquals(overflowBefore + 1, meterRegistry.get(ConnectionAttemptBuffer.OVERFLOW_METER).counter().count());
+
+        connectionAttemptBuffer.flush();
+        assertEquals(3, connectionRepository.count());
+    }
+
+    private void recordConnection(String sub, boolean isConnectionAccepted) throws Exception {
+        mockMvc.perform(head(RECORD_CONNECTION_URL, sub)
+                        .param("isConnectionAccepted", String.valueOf(isConnectionAccepted)))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.service;
+
+import org.gridsuite.useradmin.server.entity.ConnectionEntity;
+import org.gridsuite.useradmin.server.repository.ConnectionEventRepository;
+import org.gridsuite.useradmin.server.repository.ConnectionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ConnectionsServiceTest {
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 50;
+    private static final List<String> SUBS = List.of("user_A", "user_B", "user_C", "user_D");
+
+    @Autowired
+    private ConnectionsService connectionsService;
+
+    @Autowired
+    private ConnectionRepository connectionRepository;
+
+    @Autowired
+    private ConnectionEventRepository connectionEventRepository;
+
+    @AfterEach
+    void cleanDB() {
+        connectionRepository.deleteAll();
+        connectionEventRepository.deleteAll();
+    }
+
+    @Test
+    void testConcurrentAttemptsDontDuplicateConnections() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            IntStream.range(0, THREADS).forEach(thread -> results.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    // the threads hit the same few users, whose connections don't exist yet
+                    connectionsService.recordConnectionAttempt(SUBS.get((thread + i) % SUBS.size()), true);
+                }
+                return null;
+            })));
+            start.countDown();
+            for (Future<?> result : results) {
+                // rethrows any failed upsert
+                result.get();
+            }
+        }
+
+        assertEquals(SUBS.size(), connectionRepository.count());
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD, connectionEventRepository.count());
+        SUBS.forEach(sub -> {
+            List<ConnectionEntity> connections = connectionRepository.findBySub(sub);
+            assertEquals(1, connections.size());
+            assertFalse(connections.get(0).getFirstConnexionDate().isAfter(connections.get(0).getLastConnexionDate()));
+        });
+    }
+
+    @Test
+    void testLatestAttemptWins() {
+        connectionsService.recordConnectionAttempt("user_A", true);
+        connectionsService.recordConnectionAttempt("user_A", false);
+
+        List<ConnectionEntity> connections = connectionRepository.findBySub("user_A");
+        assertEquals(1, connections.size());
+        assertFalse(connections.get(0).getConnectionAccepted());
+        // while every attempt is kept as an event
+        assertEquals(2, connectionEventRepository.count());
+    }
+}
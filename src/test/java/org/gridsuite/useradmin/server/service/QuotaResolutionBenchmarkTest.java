@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.service;
+
+import org.gridsuite.useradmin.server.dto.UserProfile;
+import org.gridsuite.useradmin.server.dto.UserQuota;
+import org.gridsuite.useradmin.server.entity.UserInfosEntity;
+import org.gridsuite.useradmin.server.entity.UserProfileEntity;
+import org.gridsuite.useradmin.server.repository.UserInfosRepository;
+import org.gridsuite.useradmin.server.repository.UserProfileRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the quota resolution through the entities with the single statements used now:
+ * the profile query loading {@link UserProfileCache} on a miss, the path of the quota endpoints when
+ * the cache is enabled as in production, and the projection query used when it is disabled.
+ * Run with {@code mvn test -Dtest=QuotaResolutionBenchmarkTest -Dbenchmark=true}.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class QuotaResolutionBenchmarkTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(QuotaResolutionBenchmarkTest.class);
+
+    private static final String USER_SUB = "bench_user";
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int ITERATIONS = 10_000;
+
+    @Autowired
+    private UserInfosRepository userInfosRepository;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private UserProfileService userProfileService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanDB() {
+        userInfosRepository.deleteAll();
+        userProfileRepository.deleteAll();
+    }
+
+    @Test
+    void benchmarkMaxAllowedCases() {
+        UserProfileEntity profile = userProfileRepository.save(new UserProfileEntity(UUID.randomUUID(), "bench_profile", null, null, null, null, null, null, 15, 5, null, null, null));
+        userInfosRepository.save(new UserInfosEntity(UUID.randomUUID(), USER_SUB, profile, null));
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        // previous implementation: user entity, then profile entity, inside a read-only transaction
+        Supplier<Integer> entities = () -> readOnlyTransaction.execute(status -> userInfosRepository.findBySub(USER_SUB)
+                .flatMap(user -> userProfileService.getProfile(user.getProfile().getId()))
+                .map(UserProfile::maxAllowedCases)
+                .orElseThrow());
+        Supplier<Integer> profileQuery = () -> userInfosRepository.findProfileBySub(USER_SUB)
+                .map(userProfileService::toDto)
+                .map(UserProfile::maxAllowedCases)
+                .orElseThrow();
+        Supplier<Integer> projection = () -> userInfosRepository.findQuotaBySub(USER_SUB)
+                .map(UserQuota::maxAllowedCases)
+                .orElseThrow();
+
+        assertEquals(15, entities.get());
+        assertEquals(15, profileQuery.get());
+        assertEquals(15, projection.get());
+        run("entities", entities);
+        run("profile query (cache miss)", profileQuery);
+        run("projection (cache disabled)", projection);
+    }
+
+    private static void run(String name, Supplier<Integer> call) {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            call.get();
+        }
+        long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        LOGGER.info("{}: {} ns/call, {} bytes allocated/call", name, elapsed / ITERATIONS, allocated / ITERATIONS);
+    }
+}
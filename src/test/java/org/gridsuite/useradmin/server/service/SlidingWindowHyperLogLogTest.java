@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SlidingWindowHyperLogLogTest {
+    private static final long MINUTE = 60_000L;
+
+    private final AtomicLong now = new AtomicLong(1_000 * MINUTE);
+    private final SlidingWindowHyperLogLog sketch = new SlidingWindowHyperLogLog(Duration.ofMinutes(5), now::get);
+
+    @Test
+    void testEstimate() {
+        assertEquals(0, sketch.estimate());
+        IntStream.range(0, 10).forEach(i -> sketch.add("user_A"));
+        assertEquals(1, sketch.estimate());
+
+        IntStream.range(0, 100_000).forEach(i -> sketch.add("user_" + i));
+        // 4 times the standard error
+        assertEquals(100_000, sketch.estimate(), 100_000 * 0.065);
+    }
+
+    @Test
+    void testConcurrentAdds() throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            IntStream.range(0, 8).forEach(thread -> executor.submit(() -> IntStream.range(0, 10_000).forEach(i -> sketch.add("user_" + i))));
+        }
+        assertEquals(10_000, sketch.estimate(), 10_000 * 0.065);
+    }
+
+    @Test
+    void testSlidingWindow() {
+        IntStream.range(0, 1_000).forEach(i -> sketch.add("user_" + i));
+        now.addAndGet(3 * MINUTE);
+        IntStream.range(1_000, 2_000).forEach(i -> sketch.add("user_" + i));
+        assertEquals(2_000, sketch.estimate(), 2_000 * 0.065);
+
+        // the first minute leaves the window
+        now.addAndGet(2 * MINUTE);
+        assertEquals(1_000, sketch.estimate(), 1_000 * 0.065);
+        // its slot is reused
+        sketch.add("user_0");
+        assertEquals(1_001, sketch.estimate(), 1_000 * 0.065);
+
+        now.addAndGet(10 * MINUTE);
+        assertEquals(0, sketch.estimate());
+    }
+}
@@ -0,0 +1,270 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.gridsuite.useradmin.server.UserAdminApplicationProps;
+import org.gridsuite.useradmin.server.dto.UserIdentitiesResult;
+import org.gridsuite.useradmin.server.dto.UserIdentity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserIdentityServiceTest {
+    private static final String IDENTITIES_PATH = "/v1/users/identities";
+
+    private static final Duration TIME_TO_LIVE = Duration.ofHours(1);
+    private static final Duration MAX_STALENESS = Duration.ofDays(1);
+    private static final Duration NEGATIVE_TIME_TO_LIVE = Duration.ofMinutes(5);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong ticker = new AtomicLong();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private WireMockServer wireMockServer;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+        wireMockServer.stop();
+    }
+
+    @Test
+    void testChunkedPostBatch() throws Exception {
+        stubPost(List.of("user_0", "user_1"), 200);
+        stubPost(List.of("user_2", "user_3"), 200);
+        stubPost(List.of("user_4"), 200);
+
+        Map<String, UserIdentity> identities = createService(true).getIdentities(List.of("user_0", "user_1", "user_2", "user_3", "user_4", "user_0"));
+
+        assertEquals(identitiesOf(List.of("user_0", "user_1", "user_2", "user_3", "user_4")), identities);
+        wireMockServer.verify(3, postRequestedFor(urlPathEqualTo(IDENTITIES_PATH)));
+    }
+
+    @Test
+    void testFailedChunkDoesntDropTheOthers() throws Exception {
+        stubPost(List.of("user_0", "user_1"), 200);
+        stubPost(List.of("user_2", "user_3"), 500);
+        stubPost(List.of("user_4"), 200);
+
+        Map<String, UserIdentity> identities = createService(true).getIdentities(List.of("user_0", "user_1", "user_2", "user_3", "user_4"));
+
+        assertEquals(identitiesOf(List.of("user_0", "user_1", "user_4")), identities);
+    }
+
+    @Test
+    void testFallbackToQueryStringWithoutPostSupport() throws Exception {
+        wireMockServer.stubFor(post(urlPathEqualTo(IDENTITIES_PATH)).willReturn(aResponse().withStatus(405)));
+        stubGet(List.of("user_0", "user_1"));
+        stubGet(List.of("user_2"));
+        UserIdentityService service = createService(true);
+
+        assertEquals(identitiesOf(List.of("user_0", "user_1", "user_2")), service.getIdentities(List.of("user_0", "user_1", "user_2")));
+        int posts = wireMockServer.findAll(postRequestedFor(urlPathEqualTo(IDENTITIES_PATH))).size();
+        // the POST isn't tried anymore once unsupported
+        assertEquals(identitiesOf(List.of("user_0", "user_1")), service.getIdentities(List.of("user_0", "user_1")));
+        wireMockServer.verify(posts, postRequestedFor(urlPathEqualTo(IDENTITIES_PATH)));
+        wireMockServer.verify(2, getRequestedFor(urlPathEqualTo(IDENTITIES_PATH)).withQueryParam("subs", equalTo("user_0,user_1")));
+    }
+
+    @Test
+    void testQueryStringChunks() throws Exception {
+        stubGet(List.of("user_0", "user_1"));
+        stubGet(List.of("user_2"));
+
+        assertEquals(identitiesOf(List.of("user_0", "user_1", "user_2")), createService(false).getIdentities(List.of("user_0", "user_1", "user_2")));
+        wireMockServer.verify(0, postRequestedFor(urlPathEqualTo(IDENTITIES_PATH)));
+        wireMockServer.verify(2, getRequestedFor(urlPathEqualTo(IDENTITIES_PATH)));
+    }
+
+    @Test
+    void testCacheHitsAndNegativeCaching() throws Exception {
+        stubPost(List.of("user_0", "user_1"), Map.of("user_0", identityOf("user_0")), Map.of("user_1", "NOT_FOUND"), 200);
+        UserIdentityService service = createCachedService();
+
+        assertEquals(identitiesOf(List.of("user_0")), service.getIdentities(List.of("user_0", "user_1")));
+        assertEquals(identitiesOf(List.of("user_0")), service.getIdentities(List.of("user_0", "user_1")));
+        assertEquals(Optional.empty(), service.getIdentity("user_1"));
+        wireMockServer.verify(1, postRequestedFor(urlPathEqualTo(IDENTITIES_PATH)));
+        assertEquals(3, cacheGets("hit"));
+        assertEquals(2, cacheGets("miss"));
+
+        // the negative entry is refetched sooner than the positive ones
+        ticker.addAndGet(NEGATIVE_TIME_TO_LIVE.plusSeconds(1).toNanos());
+        stubPost(List.of("user_1"), 200);
+        assertEquals(Optional.empty(), service.getIdentity("user_1"));
+        awaitBackgroundRefreshes();
+        assertEquals(Optional.of(identityOf("user_1")), service.getIdentity("user_1"));
+        assertEquals(Optional.of(identityOf("user_0")), service.getIdentity("user_0"));
+        wireMockServer.verify(2, postRequestedFor(urlPathEqualTo(IDENTITIES_PATH)));
+    }
+
+    @Test
+    void testStaleWhileRevalidate() throws Exception {
+        stubPost(List.of("user_0"), 200);
+        UserIdentityService service = createCachedService();
+        assertEquals(identitiesOf(List.of("user_0")), service.getIdentities(List.of("user_0")));
+
+        UserIdentity renamed = new UserIdentity("user_0", "renamed", "last_user_0");
+        stubPost(List.of("user_0"), Map.of("user_0", renamed), Map.of(), 200);
+        ticker.addAndGet(TIME_TO_LIVE.plusSeconds(1).toNanos());
+
+        // the stale entry is served without waiting for its refresh
+        assertEquals(identitiesOf(List.of("user_0")), service.getIdentities(List.of("user_0")));
+        awaitBackgroundRefreshes();
+        assertEquals(Map.of("user_0", renamed), service.getIdentities(List.of("user_0")));
+        assertEquals(1, meterRegistry.get(UserIdentityService.STALE_HITS_METER).counter().count());
+        assertEquals(1, meterRegistry.get(UserIdentityService.REFRESHES_METER).counter().count());
+    }
+
+    @Test
+    void testStaleEntriesRefreshedTogether() throws Exception {
+        stubPost(List.of("user_0", "user_1"), 200);
+        UserIdentityService service = createCachedService();
+        assertEquals(identitiesOf(List.of("user_0", "user_1")), service.getIdentities(List.of("user_0", "user_1")));
+
+        ticker.addAndGet(TIME_TO_LIVE.plusSeconds(1).toNanos());
+        assertEquals(identitiesOf(List.of("user_0", "user_1")), service.getIdentities(List.of("user_0", "user_1")));
+        awaitBackgroundRefreshes();
+
+        // a single request for both stale entries, not one per sub
+        wireMockServer.verify(2, postRequestedFor(urlPathEqualTo(IDENTITIES_PATH))
+                .withRequestBody(equalToJson(objectMapper.writeValueAsString(List.of("user_0", "user_1")))));
+        wireMockServer.verify(2, postRequestedFor(urlPathEqualTo(IDENTITIES_PATH)));
+        assertEquals(2, meterRegistry.get(UserIdentityService.STALE_HITS_METER).counter().count());
+        assertEquals(2, meterRegistry.get(UserIdentityService.REFRESHES_METER).counter().count());
+    }
+
+    @Test
+    void testStaleEntriesServedWhileServerIsDown() throws Exception {
+        stubPost(List.of("user_0"), 200);
+        UserIdentityService service = createCachedService();
+        assertEquals(identitiesOf(List.of("user_0")), service.getIdentities(List.of("user_0")));
+
+        stubPost(List.of("user_0"), 503);
+        ticker.addAndGet(TIME_TO_LIVE.plusSeconds(1).toNanos());
+        assertEquals(identitiesOf(List.of("user_0")), service.getIdentities(List.of("user_0")));
+        awaitBackgroundRefreshes();
+        // the failed refresh keeps the stale entry
+        assertEquals(Optional.of(identityOf("user_0")), service.getIdentity("user_0"));
+
+        // until its maximum staleness
+        ticker.addAndGet(MAX_STALENESS.toNanos());
+        assertEquals(Map.of(), service.getIdentities(List.of("user_0")));
+    }
+
+    @Test
+    void testOpenCircuitFailsFast() throws Exception {
+        stubPost(List.of("user_0"), 503);
+        UserIdentityService service = createService(true);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Map.of(), service.getIdentities(List.of("user_0")));
+        }
+        wireMockServer.verify(10, postRequestedFor(urlPathEqualTo(IDENTITIES_PATH)));
+
+        // the identities are missing without calling the server
+        assertEquals(Map.of(), service.getIdentities(List.of("user_0")));
+        assertEquals(Optional.empty(), service.getIdentity("user_0"));
+        wireMockServer.verify(10, postRequestedFor(urlPathEqualTo(IDENTITIES_PATH)));
+        wireMockServer.verify(0, getRequestedFor(urlPathEqualTo(IDENTITIES_PATH + "/user_0")));
+        assertEquals(1, meterRegistry.get(CircuitBreaker.TRANSITIONS_METER).tag("name", "identity").tag("to", "OPEN").counter().count());
+    }
+
+    private UserIdentityService createService(boolean postBatch) {
+        UserAdminApplicationProps props = new UserAdminApplicationProps();
+        props.getIdentity().setChunkSize(2);
+        props.getIdentity().setMaxConcurrentCalls(2);
+        props.getIdentity().setPostBatch(postBatch);
+        props.getCache().getUserIdentity().setEnabled(false);
+        return new UserIdentityService(new RestTemplate(), wireMockServer.baseUrl(), props, executor, meterRegistry, ticker::get);
+    }
+
+    private UserIdentityService createCachedService() {
+        UserAdminApplicationProps props = new UserAdminApplicationProps();
+        props.getIdentity().setChunkSize(2);
+        UserAdminApplicationProps.IdentityCacheSpec cacheSpec = props.getCache().getUserIdentity();
+        cacheSpec.setTimeToLive(TIME_TO_LIVE);
+        cacheSpec.setMaxStaleness(MAX_STALENESS);
+        cacheSpec.setNegativeTimeToLive(NEGATIVE_TIME_TO_LIVE);
+        return new UserIdentityService(new RestTemplate(), wireMockServer.baseUrl(), props, executor, meterRegistry, ticker::get);
+    }
+
+    /**
+     * The executor then rejects the next refreshes, the entries stay stale.
+     */
+    private void awaitBackgroundRefreshes() throws InterruptedException {
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", UserIdentityService.CACHE_NAME)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private void stubPost(List<String> subs, int status) throws Exception {
+        stubPost(subs, identitiesOf(subs), Map.of(), status);
+    }
+
+    private void stubPost(List<String> subs, Map<String, UserIdentity> data, Map<String, Object> errors, int status) throws Exception {
+        wireMockServer.stubFor(post(urlPathEqualTo(IDENTITIES_PATH))
+                .withRequestBody(equalToJson(objectMapper.writeValueAsString(subs)))
+                .willReturn(aResponse()
+                        .withStatus(status)
+                        .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(objectMapper.writeValueAsString(new UserIdentitiesResult(data, errors)))));
+    }
+
+    private void stubGet(List<String> subs) throws Exception {
+        wireMockServer.stubFor(get(urlPathEqualTo(IDENTITIES_PATH))
+                .withQueryParam("subs", equalTo(String.join(",", subs)))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(objectMapper.writeValueAsString(new UserIdentitiesResult(identitiesOf(subs), Map.of())))));
+    }
+
+    private static Map<String, UserIdentity> identitiesOf(List<String> subs) {
+        return subs.stream().collect(Collectors.toMap(Function.identity(), UserIdentityServiceTest::identityOf));
+    }
+
+    private static UserIdentity identityOf(String sub) {
+        return new UserIdentity(sub, "first_" + sub, "last_" + sub);
+    }
+}
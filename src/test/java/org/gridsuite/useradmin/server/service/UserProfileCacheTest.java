@@ -0,0 +1,206 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.useradmin.server.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.gridsuite.useradmin.server.UserAdminApi;
+import org.gridsuite.useradmin.server.UserAdminApplication;
+import org.gridsuite.useradmin.server.dto.UserProfile;
+import org.gridsuite.useradmin.server.entity.UserInfosEntity;
+import org.gridsuite.useradmin.server.entity.UserProfileEntity;
+import org.gridsuite.useradmin.server.repository.UserInfosRepository;
+import org.gridsuite.useradmin.server.repository.UserProfileRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.stream.binder.test.InputDestination;
+import org.springframework.cloud.stream.binder.test.OutputDestination;
+import org.springframework.cloud.stream.binder.test.TestChannelBinderConfiguration;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.gridsuite.useradmin.server.Utils.ROLES_HEADER;
+import static org.gridsuite.useradmin.server.service.NotificationService.*;
+import static org.gridsuite.useradmin.server.utils.TestConstants.USER_ADMIN_ROLE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(classes = {UserAdminApplication.class, TestChannelBinderConfiguration.class},
+    properties = "useradmin.cache.user-profile.enabled=true")
+class UserProfileCacheTest {
+    private static final String CACHE_INVALIDATION_DESTINATION = "useradmin.cache.invalidation";
+    private static final long TIMEOUT = 1000;
+    private static final String ADMIN_USER = "admin1";
+    private static final String USER_A = "user_A";
+    private static final String USER_B = "user_B";
+    private static final String PROFILE_A = "profile_A";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserInfosRepository userInfosRepository;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private UserProfileCache userProfileCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private InputDestination input;
+
+    @Autowired
+    private OutputDestination output;
+
+    @AfterEach
+    void cleanDB() {
+        userInfosRepository.deleteAll();
+        userProfileRepository.deleteAll();
+        userProfileCache.evict(USER_A, USER_B);
+        output.clear();
+    }
+
+    @Test
+    void testCacheHitAndInvalidationOnProfileUpdate() throws Exception {
+        UserProfileEntity profile = userProfileRepository.save(new UserProfileEntity(UUID.randomUUID(), PROFILE_A, null, null, null, null, null, null, 15, 5, null, null, null));
+        userInfosRepository.save(new UserInfosEntity(UUID.randomUUID(), USER_A, profile, null));
+        double hitsBefore = cacheGets("hit");
+
+        assertEquals(15, getMaxCases(USER_A));
+
+        // a direct write bypasses the service: the cached value is still served
+        profile.setMaxAllowedCases(30);
+        userProfileRepository.save(profile);
+        assertEquals(15, getMaxCases(USER_A));
+        assertTrue(cacheGets("hit") > hitsBefore);
+
+        // updating the profile through the service evicts its users
+        UserProfile update = new UserProfile(profile.getId(), PROFILE_A, null, null, null, null, null, null, null, 40, 5, null, null, null);
+        mockMvc.perform(put("/" + UserAdminApi.API_VERSION + "/profiles/{profileUuid}", profile.getId())
+                        .content(objectMapper.writeValueAsString(update))
+                        .contentType(APPLICATION_JSON)
+                        .header("userId", ADMIN_USER)
+                        .header(ROLES_HEADER, USER_ADMIN_ROLE))
+                .andExpect(status().isOk());
+        assertEquals(40, getMaxCases(USER_A));
+
+        // the eviction is propagated to the other replicas
+        Message<byte[]> message = output.receive(TIMEOUT, CACHE_INVALIDATION_DESTINATION);
+        assertNotNull(message);
+        assertEquals(UserProfileCache.CACHE_NAME, message.getHeaders().get(HEADER_CACHE_NAME));
+        assertEquals(List.of(USER_A), objectMapper.readValue(message.getPayload(), new TypeReference<List<String>>() { }));
+    }
+
+    @Test
+    void testQuotaEndpointsFillTheCache() throws Exception {
+        UserProfileEntity profile = userProfileRepository.save(new UserProfileEntity(UUID.randomUUID(), PROFILE_A, null, null, null, null, null, null, 15, 5, null, null, null));
+        userInfosRepository.save(new UserInfosEntity(UUID.randomUUID(), USER_A, profile, null));
+        double hitsBefore = cacheGets("hit");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // the miss loads the profile with a single statement
+        assertEquals("15", getQuota(USER_A, "max-cases"));
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        // a direct write bypasses the service: the profile loaded by the quota endpoint is served
+        profile.setMaxAllowedCases(30);
+        profile.setMaxAllowedBuilds(10);
+        userProfileRepository.save(profile);
+        assertEquals("15", getQuota(USER_A, "max-cases"));
+        assertEquals("5", getQuota(USER_A, "max-builds"));
+        assertEquals(15, getMaxCases(USER_A));
+        assertTrue(cacheGets("hit") >= hitsBefore + 3);
+    }
+
+    @Test
+    void testCacheInvalidationFromAnotherReplica() throws Exception {
+        UserProfileEntity profile = userProfileRepository.save(new UserProfileEntity(UUID.randomUUID(), PROFILE_A, null, null, null, null, null, null, 15, 5, null, null, null));
+        userInfosRepository.save(new UserInfosEntity(UUID.randomUUID(), USER_A, profile, null));
+        assertEquals(15, getMaxCases(USER_A));
+
+        // written by another replica
+        profile.setMaxAllowedCases(30);
+        userProfileRepository.save(profile);
+        assertEquals(15, getMaxCases(USER_A));
+
+        input.send(MessageBuilder.withPayload(objectMapper.writeValueAsBytes(List.of(USER_A)))
+                .setHeader(HEADER_CACHE_NAME, UserProfileCache.CACHE_NAME)
+                .setHeader(HEADER_ORIGIN, "another-replica")
+                .setHeader(HEADER_EMITTED_AT, System.currentTimeMillis())
+                .build(), CACHE_INVALIDATION_DESTINATION);
+
+        assertEquals(30, getMaxCases(USER_A));
+        assertEquals(1L, meterRegistry.get(CacheInvalidationService.INVALIDATION_LAG_METER)
+                .tag("cache", UserProfileCache.CACHE_NAME)
+                .timer()
+                .count());
+    }
+
+    @Test
+    void testCacheInvalidationOnUserDelete() throws Exception {
+        UserProfileEntity profile = userProfileRepository.save(new UserProfileEntity(UUID.randomUUID(), PROFILE_A, null, null, null, null, null, null, 15, 5, null, null, null));
+        userInfosRepository.save(new UserInfosEntity(UUID.randomUUID(), USER_B, profile, null));
+        assertEquals(15, getMaxCases(USER_B));
+
+        mockMvc.perform(delete("/" + UserAdminApi.API_VERSION + "/users/{sub}", USER_B)
+                        .header("userId", ADMIN_USER)
+                        .header(ROLES_HEADER, USER_ADMIN_ROLE))
+                .andExpect(status().isNoContent());
+
+        // unknown user: default profile
+        assertEquals(20, getMaxCases(USER_B));
+    }
+
+    private Integer getMaxCases(String sub) throws Exception {
+        return objectMapper.readValue(
+                mockMvc.perform(get("/" + UserAdminApi.API_VERSION + "/users/{sub}/profile", sub))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString(),
+                UserProfile.class).maxAllowedCases();
+    }
+
+    private String getQuota(String sub, String quota) throws Exception {
+        return mockMvc.perform(get("/" + UserAdminApi.API_VERSION + "/users/{sub}/profile/" + quota, sub))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", UserProfileCache.CACHE_NAME)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}